@@ -0,0 +1,275 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+import utils.MyArrayList;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+
+import java.util.Arrays;
+
+/**
+ * Flags suspicious expenditures as they are posted or loaded. Keeps a
+ * running mean and variance (Welford) per category and per account, and
+ * flags an amount whose z-score against its group's history exceeds the
+ * threshold, as well as dates outside a plausible range. While the category
+ * or account has too little history for a z-score, the amount is judged
+ * instead by a robust (median/MAD) score against a bounded window of recent
+ * amounts across all groups. Each check is O(1).
+ *
+ * The most recent alerts are kept in a fixed-size ring. Removing an
+ * expenditure, e.g. when its transaction is rolled back, retracts its alerts.
+ */
+public class AnomalyDetector implements ExpenditureListener {
+
+    public static final double DEFAULT_Z_THRESHOLD = 3.0;
+    public static final int DEFAULT_MIN_SAMPLES = 5;
+    public static final int DEFAULT_CAPACITY = 100;
+
+    // Cold-start fallback: modified z-score cut-off (Iglewicz and Hoaglin)
+    // over the most recent amounts of every group
+    private static final double ROBUST_THRESHOLD = 3.5;
+    private static final int RECENT_WINDOW = 64;
+    private static final int MIN_RECENT = 2;
+
+    /**
+     * One flagged expenditure.
+     */
+    public static class Alert {
+        private final Expenditure expenditure; // identifies the alert for retraction
+        private final String code;
+        private final double amount;
+        private final String reason;
+
+        Alert(Expenditure expenditure, String reason) {
+            this.expenditure = expenditure;
+            this.code = expenditure.getCode();
+            this.amount = expenditure.getAmount();
+            this.reason = reason;
+        }
+
+        public String getCode() { return code; }
+        public double getAmount() { return amount; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return code + " (GHS " + String.format("%.2f", amount) + "): " + reason;
+        }
+    }
+
+    // Welford running statistics for one group
+    private static class Stats {
+        long count;
+        double mean;
+        double m2;
+
+        void add(double x) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+        }
+
+        void remove(double x) {
+            if (count <= 1) {
+                count = 0;
+                mean = 0;
+                m2 = 0;
+                return;
+            }
+            double delta = x - mean;
+            mean -= delta / (count - 1);
+            m2 -= delta * (x - mean);
+            count--;
+            if (m2 < 0) m2 = 0; // rounding
+        }
+
+        double stdDev() {
+            return count < 2 ? 0 : Math.sqrt(m2 / (count - 1));
+        }
+    }
+
+    private final double zThreshold;
+    private final int minSamples;
+    private final MyMap<String, Stats> byCategory = new MyHashMap<>();
+    private final MyMap<String, Stats> byAccount = new MyHashMap<>();
+
+    private final Alert[] ring;
+    private int next;
+    private int retained;   // alerts currently in the ring
+    private long alertCount;
+
+    private final Expenditure[] recent = new Expenditure[RECENT_WINDOW];
+    private int recentNext;
+    private int recentCount;
+
+    public AnomalyDetector() {
+        this(DEFAULT_Z_THRESHOLD, DEFAULT_MIN_SAMPLES, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param zThreshold flag amounts more than this many standard deviations from the group mean
+     * @param minSamples history a group needs before its amounts are judged
+     * @param capacity   number of recent alerts kept
+     */
+    public AnomalyDetector(double zThreshold, int minSamples, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.zThreshold = zThreshold;
+        this.minSamples = Math.max(2, minSamples);
+        this.ring = new Alert[capacity];
+    }
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        if (!DateKeys.isPlausible(exp.getMonthKey())) {
+            raise(exp, "Implausible date " + exp.getFormattedDate());
+        }
+
+        String category = exp.getCategory().toLowerCase();
+        Stats categoryStats = stats(byCategory, category);
+        Stats accountStats = stats(byAccount, exp.getAccountId());
+        if (categoryStats.count < minSamples || accountStats.count < minSamples) {
+            checkRecent(exp);
+        }
+        check(exp, categoryStats, "category '" + category + "'");
+        check(exp, accountStats, "account " + exp.getAccountId());
+
+        recent[recentNext] = exp;
+        recentNext = (recentNext + 1) % RECENT_WINDOW;
+        recentCount = Math.min(recentCount + 1, RECENT_WINDOW);
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        Stats category = byCategory.get(exp.getCategory().toLowerCase());
+        if (category != null) category.remove(exp.getAmount());
+        Stats account = byAccount.get(exp.getAccountId());
+        if (account != null) account.remove(exp.getAmount());
+        forgetRecent(exp);
+        retract(exp);
+    }
+
+    // Modified z-score 0.6745 * (x - median) / MAD over the recent window
+    private void checkRecent(Expenditure exp) {
+        if (recentCount < MIN_RECENT) {
+            return;
+        }
+        double[] amounts = new double[recentCount];
+        for (int i = 0; i < recentCount; i++) {
+            amounts[i] = recent[i].getAmount();
+        }
+        double median = median(amounts);
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = Math.abs(amounts[i] - median);
+        }
+        double mad = median(amounts);
+        if (mad > 0) {
+            double score = 0.6745 * (exp.getAmount() - median) / mad;
+            if (Math.abs(score) > ROBUST_THRESHOLD) {
+                raise(exp, String.format("Amount is %.1f robust deviations from the recent median of GHS %.2f",
+                        score, median));
+            }
+        }
+    }
+
+    // Sorts in place; the window is small and fixed, so this is O(1) per posting
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+
+    // Unrolls the window oldest first into a copy, so compaction never
+    // overwrites slots that have not been read yet
+    private void forgetRecent(Expenditure exp) {
+        Expenditure[] survivors = new Expenditure[RECENT_WINDOW];
+        int kept = 0;
+        for (int i = 0; i < recentCount; i++) {
+            Expenditure e = recent[Math.floorMod(recentNext - recentCount + i, RECENT_WINDOW)];
+            if (e != exp) {
+                survivors[kept++] = e;
+            }
+        }
+        if (kept == recentCount) {
+            return;
+        }
+        System.arraycopy(survivors, 0, recent, 0, RECENT_WINDOW);
+        recentCount = kept;
+        recentNext = kept % RECENT_WINDOW;
+    }
+
+    // Judges the amount against the group's history, then adds it
+    private void check(Expenditure exp, Stats stats, String group) {
+        double amount = exp.getAmount();
+        if (stats.count >= minSamples) {
+            double stdDev = stats.stdDev();
+            if (stdDev > 0) {
+                double z = (amount - stats.mean) / stdDev;
+                if (Math.abs(z) > zThreshold) {
+                    raise(exp, String.format("Amount is %.1f standard deviations from the %s mean of GHS %.2f",
+                            z, group, stats.mean));
+                }
+            }
+        }
+        stats.add(amount);
+    }
+
+    private static Stats stats(MyMap<String, Stats> groups, String key) {
+        Stats stats = groups.get(key);
+        if (stats == null) {
+            stats = new Stats();
+            groups.put(key, stats);
+        }
+        return stats;
+    }
+
+    private void raise(Expenditure exp, String reason) {
+        ring[next] = new Alert(exp, reason);
+        next = (next + 1) % ring.length;
+        retained = Math.min(retained + 1, ring.length);
+        alertCount++;
+    }
+
+    // Drops the expenditure's alerts from the ring, keeping the others in order
+    private void retract(Expenditure exp) {
+        Alert[] survivors = new Alert[ring.length];
+        int count = 0;
+        for (int i = retained; i >= 1; i--) { // oldest first
+            Alert alert = ring[Math.floorMod(next - i, ring.length)];
+            if (alert.expenditure != exp) {
+                survivors[count++] = alert;
+            }
+        }
+        if (count == retained) {
+            return;
+        }
+        System.arraycopy(survivors, 0, ring, 0, ring.length);
+        alertCount -= retained - count;
+        retained = count;
+        next = count % ring.length;
+    }
+
+    /**
+     * Returns the kept alerts, newest first.
+     */
+    public synchronized MyList<Alert> recentAlerts() {
+        MyList<Alert> result = new MyArrayList<>();
+        for (int i = 1; i <= retained; i++) {
+            result.add(ring[Math.floorMod(next - i, ring.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of alerts raised, including any dropped from the
+     * ring, less those retracted.
+     */
+    public synchronized long getAlertCount() {
+        return alertCount;
+    }
+}
@@ -0,0 +1,163 @@
+package analysis;
+
+import models.Expenditure;
+import utils.DateKeys;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+import utils.MyTreeMap;
+import utils.ParallelReduce;
+
+/**
+ * Every headline metric computed in one scan: count, total, min/max/mean,
+ * approximate amount quantiles, and totals by month, category, phase and
+ * account. Months are bucketed by integer key (year * 12 + month index), so
+ * no dates are formatted until the results are read.
+ *
+ * Not thread-safe; partial dashboards built over separate ranges are
+ * combined with {@link #merge(Dashboard)}.
+ */
+public class Dashboard {
+
+    // Running total for one group; mutated in place to avoid re-boxing
+    private static class Group {
+        double total;
+        int count;
+    }
+
+    private int count;
+    private double total;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final QuantileSketch amounts = new QuantileSketch();
+
+    private final MyMap<Integer, Group> byMonth = new MyHashMap<>();
+    private final MyMap<String, Group> byCategory = new MyHashMap<>();
+    private final MyMap<String, Group> byPhase = new MyHashMap<>();
+    private final MyMap<String, Group> byAccount = new MyHashMap<>();
+
+    /**
+     * Builds a dashboard with a single pass over the list. Large lists are
+     * split into ranges scanned on the common fork-join pool and merged.
+     */
+    public static Dashboard of(MyList<Expenditure> expenditures) {
+        return ParallelReduce.reduce(expenditures, Dashboard::new, Dashboard::accept, Dashboard::merge);
+    }
+
+    /**
+     * Folds one expenditure into every metric.
+     */
+    public void accept(Expenditure exp) {
+        double amount = exp.getAmount();
+        count++;
+        total += amount;
+        if (amount < min) min = amount;
+        if (amount > max) max = amount;
+        amounts.add(amount);
+
+        add(byMonth, exp.getMonthKey(), amount, 1);
+        add(byCategory, exp.getCategory().toLowerCase(), amount, 1);
+        add(byPhase, exp.getPhase().toLowerCase(), amount, 1);
+        add(byAccount, exp.getAccountId(), amount, 1);
+    }
+
+    /**
+     * Adds another dashboard's results into this one.
+     * @return this dashboard
+     */
+    public Dashboard merge(Dashboard other) {
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        amounts.merge(other.amounts);
+        mergeGroups(byMonth, other.byMonth);
+        mergeGroups(byCategory, other.byCategory);
+        mergeGroups(byPhase, other.byPhase);
+        mergeGroups(byAccount, other.byAccount);
+        return this;
+    }
+
+    private static <K> void add(MyMap<K, Group> groups, K key, double amount, int count) {
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group();
+            groups.put(key, group);
+        }
+        group.total += amount;
+        group.count += count;
+    }
+
+    private static <K> void mergeGroups(MyMap<K, Group> into, MyMap<K, Group> from) {
+        for (MyMap.Entry<K, Group> entry : from.entrySet()) {
+            add(into, entry.getKey(), entry.getValue().total, entry.getValue().count);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the smallest amount, or 0 if empty.
+     */
+    public double getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the largest amount, or 0 if empty.
+     */
+    public double getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Returns the average amount, or 0 if empty.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Returns the approximate amount at quantile q, or NaN if empty.
+     */
+    public double quantile(double q) {
+        return amounts.quantile(q);
+    }
+
+    /**
+     * Total per month, keyed "MM-yyyy", in calendar order.
+     */
+    public MyMap<String, Double> monthlyTotals() {
+        MyMap<String, Double> result = new MyTreeMap<>(DateKeys.MONTH_LABEL_ORDER);
+        for (MyMap.Entry<Integer, Group> entry : byMonth.entrySet()) {
+            result.put(DateKeys.formatMonthKey(entry.getKey()), entry.getValue().total);
+        }
+        return result;
+    }
+
+    public MyMap<String, Double> categoryTotals() {
+        return totals(byCategory);
+    }
+
+    public MyMap<String, Double> phaseTotals() {
+        return totals(byPhase);
+    }
+
+    public MyMap<String, Double> accountTotals() {
+        return totals(byAccount);
+    }
+
+    private static MyMap<String, Double> totals(MyMap<String, Group> groups) {
+        MyMap<String, Double> result = new MyHashMap<>();
+        for (MyMap.Entry<String, Group> entry : groups.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().total);
+        }
+        return result;
+    }
+}
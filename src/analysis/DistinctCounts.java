@@ -0,0 +1,137 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+import utils.MyHashMap;
+import utils.MyHyperLogLog;
+import utils.MyList;
+import utils.MyMap;
+import utils.MyTreeMap;
+
+/**
+ * Approximate distinct counts from {@link MyHyperLogLog} sketches: distinct
+ * expenditure codes, distinct categories per month and distinct accounts
+ * per phase. Memory is fixed per group however many expenditures are added.
+ *
+ * Sketches cannot forget values, so a removal marks the counts stale; the
+ * owner rebuilds them with {@link #rebuild(MyList)}.
+ */
+public class DistinctCounts implements ExpenditureListener {
+
+    // Groups hold few distinct values, so a smaller sketch is enough
+    private static final int GROUP_PRECISION = 10;
+
+    private final MyHyperLogLog codes = new MyHyperLogLog();
+    private final MyMap<Integer, MyHyperLogLog> categoriesByMonth = new MyHashMap<>();
+    private final MyMap<String, MyHyperLogLog> accountsByPhase = new MyHashMap<>();
+    private boolean stale;
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        add(exp);
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        stale = true;
+    }
+
+    private void add(Expenditure exp) {
+        codes.add(exp.getCode());
+        sketch(categoriesByMonth, exp.getMonthKey()).add(exp.getCategory().toLowerCase());
+        sketch(accountsByPhase, exp.getPhase().toLowerCase()).add(exp.getAccountId());
+    }
+
+    private static <K> MyHyperLogLog sketch(MyMap<K, MyHyperLogLog> sketches, K key) {
+        MyHyperLogLog sketch = sketches.get(key);
+        if (sketch == null) {
+            sketch = new MyHyperLogLog(GROUP_PRECISION);
+            sketches.put(key, sketch);
+        }
+        return sketch;
+    }
+
+    public synchronized boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Rebuilds every sketch from the given expenditures.
+     */
+    public synchronized void rebuild(MyList<Expenditure> expenditures) {
+        codes.clear();
+        clear(categoriesByMonth);
+        clear(accountsByPhase);
+        for (int i = 0; i < expenditures.size(); i++) {
+            add(expenditures.get(i));
+        }
+        stale = false;
+    }
+
+    private static <K> void clear(MyMap<K, MyHyperLogLog> sketches) {
+        for (K key : sketches.keySet()) {
+            sketches.remove(key);
+        }
+    }
+
+    public synchronized long distinctCodes() {
+        return codes.estimate();
+    }
+
+    /**
+     * @param month "MM-yyyy"
+     */
+    public synchronized long distinctCategories(String month) {
+        return estimate(categoriesByMonth.get(DateKeys.parseMonthKey(month)));
+    }
+
+    public synchronized long distinctAccounts(String phase) {
+        return estimate(accountsByPhase.get(phase.toLowerCase()));
+    }
+
+    /**
+     * Distinct categories over all months, by merging the monthly sketches.
+     */
+    public synchronized long distinctCategories() {
+        return mergeAll(categoriesByMonth).estimate();
+    }
+
+    /**
+     * Distinct accounts over all phases, by merging the per-phase sketches.
+     */
+    public synchronized long distinctAccounts() {
+        return mergeAll(accountsByPhase).estimate();
+    }
+
+    /**
+     * Distinct categories per month, keyed "MM-yyyy" in calendar order.
+     */
+    public synchronized MyMap<String, Long> categoriesPerMonth() {
+        MyMap<String, Long> result = new MyTreeMap<>(DateKeys.MONTH_LABEL_ORDER);
+        for (MyMap.Entry<Integer, MyHyperLogLog> entry : categoriesByMonth.entrySet()) {
+            result.put(DateKeys.formatMonthKey(entry.getKey()), entry.getValue().estimate());
+        }
+        return result;
+    }
+
+    public synchronized MyMap<String, Long> accountsPerPhase() {
+        MyMap<String, Long> result = new MyHashMap<>();
+        for (MyMap.Entry<String, MyHyperLogLog> entry : accountsByPhase.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().estimate());
+        }
+        return result;
+    }
+
+    private static <K> MyHyperLogLog mergeAll(MyMap<K, MyHyperLogLog> sketches) {
+        MyHyperLogLog merged = new MyHyperLogLog(GROUP_PRECISION);
+        for (MyHyperLogLog sketch : sketches.values()) {
+            merged.merge(sketch);
+        }
+        return merged;
+    }
+
+    private static long estimate(MyHyperLogLog sketch) {
+        return sketch == null ? 0 : sketch.estimate();
+    }
+}
@@ -0,0 +1,139 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Column-oriented copy of the expenditure store: amounts, epoch days
+ * and dictionary-encoded category IDs in parallel primitive arrays, so
+ * full-table aggregations run through {@link SpendKernels} instead of
+ * chasing object references. Appended to through
+ * {@link ExpenditureListener} events.
+ *
+ * Columns are append-only, so a removal marks them stale; the owner
+ * rebuilds them with {@link #rebuild(MyList)}.
+ */
+public class ExpenditureColumns implements ExpenditureListener {
+
+    private double[] amounts;
+    private int[] epochDays;
+    private int[] categoryIds;
+    private int size;
+    private boolean stale;
+
+    private MyMap<String, Integer> categoryIndex = new MyHashMap<>();
+    private String[] categoryNames = new String[8];
+
+    public ExpenditureColumns(int capacity) {
+        capacity = Math.max(capacity, 16);
+        amounts = new double[capacity];
+        epochDays = new int[capacity];
+        categoryIds = new int[capacity];
+    }
+
+    public static ExpenditureColumns of(MyList<Expenditure> expenditures) {
+        ExpenditureColumns columns = new ExpenditureColumns(expenditures.size());
+        for (int i = 0; i < expenditures.size(); i++) {
+            columns.append(expenditures.get(i));
+        }
+        return columns;
+    }
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        append(exp);
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        stale = true;
+    }
+
+    public synchronized boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Replaces the columns with the given expenditures.
+     */
+    public synchronized void rebuild(MyList<Expenditure> expenditures) {
+        size = 0;
+        categoryIndex = new MyHashMap<>();
+        for (int i = 0; i < expenditures.size(); i++) {
+            append(expenditures.get(i));
+        }
+        stale = false;
+    }
+
+    public synchronized void append(Expenditure exp) {
+        if (size == amounts.length) {
+            int capacity = size * 2;
+            amounts = Arrays.copyOf(amounts, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+        }
+        amounts[size] = exp.getAmount();
+        epochDays[size] = exp.getEpochDay();
+        categoryIds[size] = categoryId(exp.getCategory().toLowerCase());
+        size++;
+    }
+
+    private int categoryId(String category) {
+        Integer id = categoryIndex.get(category);
+        if (id == null) {
+            id = categoryIndex.size();
+            if (id == categoryNames.length) {
+                categoryNames = Arrays.copyOf(categoryNames, id * 2);
+            }
+            categoryNames[id] = category;
+            categoryIndex.put(category, id);
+        }
+        return id;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Total spent between two dates, inclusive.
+     */
+    public synchronized double totalBetween(Date start, Date end) {
+        return SpendKernels.filteredSum(amounts, epochDays, DateKeys.epochDay(start), DateKeys.epochDay(end), size);
+    }
+
+    /**
+     * Smallest amount in a category, or NaN if it has no expenditures.
+     */
+    public synchronized double minInCategory(String category) {
+        Integer id = categoryIndex.get(category.toLowerCase());
+        return id == null ? Double.NaN : SpendKernels.maskedMin(amounts, categoryIds, id, size);
+    }
+
+    /**
+     * Largest amount in a category, or NaN if it has no expenditures.
+     */
+    public synchronized double maxInCategory(String category) {
+        Integer id = categoryIndex.get(category.toLowerCase());
+        return id == null ? Double.NaN : SpendKernels.maskedMax(amounts, categoryIds, id, size);
+    }
+
+    /**
+     * Total per category, keyed by lowercased name.
+     */
+    public synchronized MyMap<String, Double> categoryTotals() {
+        double[] sums = SpendKernels.histogram(amounts, categoryIds, categoryIndex.size(), size);
+        MyMap<String, Double> result = new MyHashMap<>();
+        for (int id = 0; id < sums.length; id++) {
+            result.put(categoryNames[id], sums[id]);
+        }
+        return result;
+    }
+}
@@ -1,61 +1,187 @@
 package analysis;
 
+import managers.ExpenditureListener;
 import managers.ExpenditureManager;
 import models.Expenditure;
 import utils.*;
 
-import java.text.SimpleDateFormat;
+import java.util.Comparator;
 
 /**
  * Provides financial analytics such as burn rate and spending trends.
+ * Totals come from aggregates maintained as expenditures are added.
  */
 public class FinancialAnalysis {
 
+    private static final int FORECAST_MONTHS = 6;
+
     private ExpenditureManager expManager;
-    private SimpleDateFormat monthFormat = new SimpleDateFormat("MM-yyyy");
+    private final SpendAggregates aggregates = new SpendAggregates();
+    private final SpendTimeSeries timeSeries = new SpendTimeSeries();
+    private final SpendDistributions distributions = new SpendDistributions();
+    private final AnomalyDetector anomalies = new AnomalyDetector();
+    private final SpendCube cube = new SpendCube();
+    private final SlidingWindowSpend windows = new SlidingWindowSpend();
+    private final DistinctCounts distinct = new DistinctCounts();
+    private final ExpenditureColumns columns = new ExpenditureColumns(16);
+    private final ExpenditureListener[] components = {
+            aggregates, timeSeries, distributions, anomalies, cube, windows, distinct, columns };
+    private final MyMap<String, Expenditure> counted = new MyHashMap<>(); // code → expenditure the components hold
 
     public FinancialAnalysis(ExpenditureManager expManager) {
-        this.expManager = expManager;
+        this(expManager, null, null);
     }
 
     /**
-     * Calculates total expenditure per month (burn rate).
+     * Subscribes to the store before catching up on what it already holds,
+     * so an expenditure posted in between reaches the components exactly once.
+     * @param cubeFile        saved {@link SpendCube} to reuse if it still matches
+     *                        the loaded expenditures, or null to always build it
+     * @param expenditureFile the file the expenditures were loaded from
      */
-    public MyMap<String, Double> calculateMonthlyBurnRate() {
-        MyMap<String, Double> burnMap = new MyHashMap<>();
+    public FinancialAnalysis(ExpenditureManager expManager, String cubeFile, String expenditureFile) {
+        this.expManager = expManager;
+        boolean cubeLoaded = cubeFile != null
+                && cube.loadFromFile(cubeFile, expenditureFile, expManager.count());
+        expManager.addListener(new ExpenditureListener() {
+            @Override
+            public void onExpenditureAdded(Expenditure exp) {
+                count(exp, true);
+            }
 
+            @Override
+            public void onExpenditureRemoved(Expenditure exp) {
+                uncount(exp);
+            }
+        });
         for (Expenditure exp : expManager.getAll()) {
-            String month = monthFormat.format(exp.getDate());
+            if (expManager.getByCode(exp.getCode()) == exp) { // not removed since the snapshot
+                count(exp, !cubeLoaded);
+            }
+        }
+    }
 
-            // Emulate getOrDefault
-            Double current = burnMap.get(month);
-            if (current == null) current = 0.0;
+    // Passes an expenditure to the components unless the event or the catch-up already did
+    private synchronized void count(Expenditure exp, boolean includeCube) {
+        if (counted.get(exp.getCode()) == exp) {
+            return;
+        }
+        counted.put(exp.getCode(), exp);
+        for (ExpenditureListener component : components) {
+            if (includeCube || component != cube) {
+                component.onExpenditureAdded(exp);
+            }
+        }
+    }
 
-            burnMap.put(month, current + exp.getAmount());
+    private synchronized void uncount(Expenditure exp) {
+        if (counted.get(exp.getCode()) != exp) {
+            return; // never counted
         }
+        counted.remove(exp.getCode());
+        for (ExpenditureListener component : components) {
+            component.onExpenditureRemoved(exp);
+        }
+    }
+
+    /**
+     * Returns the aggregates kept in step with the expenditure store.
+     */
+    public SpendAggregates getAggregates() {
+        return aggregates;
+    }
 
-        return burnMap;
+    /**
+     * Computes every headline metric in a single scan of the expenditure store.
+     */
+    public Dashboard dashboard() {
+        return Dashboard.of(expManager.getAll());
     }
 
     /**
-     * Predicts profitability trend based on monthly burn rate.
+     * Returns chronological spend buckets kept in step with the expenditure store.
      */
-    public void forecastProfitability() {
-        MyMap<String, Double> burn = calculateMonthlyBurnRate();
+    public SpendTimeSeries getTimeSeries() {
+        return timeSeries;
+    }
 
-        // Convert values to list (manual since we don’t use java.util)
-        MyList<Double> values = new MyArrayList<>();
-        for (MyMap.Entry<String, Double> entry : burn.entrySet()) {
-            values.add(entry.getValue());
+    /**
+     * Returns per-group amount distributions, rebuilt first if an
+     * expenditure has been removed since they were last built.
+     */
+    public SpendDistributions getDistributions() {
+        if (distributions.isStale()) {
+            distributions.rebuild(expManager.getAll());
         }
+        return distributions;
+    }
 
-        if (values.size() < 2) {
+    /**
+     * Returns the detector that screens every posted or loaded expenditure.
+     */
+    public AnomalyDetector getAnomalyDetector() {
+        return anomalies;
+    }
+
+    /**
+     * Returns the phase × category × account × month cube.
+     */
+    public SpendCube getCube() {
+        return cube;
+    }
+
+    /**
+     * Returns last-N-days spend totals, with the clock moved to today.
+     */
+    public SlidingWindowSpend getWindows() {
+        windows.advanceClock();
+        return windows;
+    }
+
+    /**
+     * Returns approximate distinct counts of codes, categories per month and
+     * accounts per phase, rebuilt first if an expenditure has been removed.
+     */
+    public DistinctCounts getDistinctCounts() {
+        if (distinct.isStale()) {
+            distinct.rebuild(expManager.getAll());
+        }
+        return distinct;
+    }
+
+    /**
+     * Returns the expenditure store as primitive columns for bulk
+     * aggregation (date-range totals, per-category min/max and totals),
+     * rebuilt first if an expenditure has been removed.
+     */
+    public ExpenditureColumns getColumns() {
+        if (columns.isStale()) {
+            columns.rebuild(expManager.getAll());
+        }
+        return columns;
+    }
+
+    /**
+     * Calculates total expenditure per month (burn rate).
+     */
+    public MyMap<String, Double> calculateMonthlyBurnRate() {
+        return aggregates.monthlyTotals();
+    }
+
+    /**
+     * Predicts profitability trend from the two most recent months with
+     * spending, in calendar order.
+     */
+    public void forecastProfitability() {
+        double[] values = timeSeries.lastActivePeriods(SpendTimeSeries.Granularity.MONTH, 2);
+
+        if (values.length < 2) {
             System.out.println("❌ Not enough data to forecast.");
             return;
         }
 
-        double last = values.get(values.size() - 1);
-        double secondLast = values.get(values.size() - 2);
+        double last = values[1];
+        double secondLast = values[0];
 
         if (last < secondLast) {
             System.out.println("📈 Trend: Spending is decreasing. Profit outlook is positive.");
@@ -64,51 +190,60 @@ public class FinancialAnalysis {
         } else {
             System.out.println("🔄 Trend: Spending is stable. Monitor future expenses.");
         }
+
+        int months = Math.min(FORECAST_MONTHS, timeSeries.periodCount(SpendTimeSeries.Granularity.MONTH));
+        if (months >= 2) {
+            System.out.println("   Last " + months + " months up to " + timeSeries.latestPeriod(SpendTimeSeries.Granularity.MONTH)
+                    + ": average GHS " + String.format("%.2f", timeSeries.movingAverage(SpendTimeSeries.Granularity.MONTH, months))
+                    + ", trend GHS " + String.format("%+.2f", timeSeries.trend(SpendTimeSeries.Granularity.MONTH, months)) + " per month");
+        }
     }
 
     /**
-     * Returns top spending categories.
+     * Returns every spending category ranked by total, highest first;
+     * equal totals by name.
      */
-    public MyMap<String, Double> topCategories() {
-        MyMap<String, Double> categoryMap = new MyHashMap<>();
-
-        for (Expenditure exp : expManager.getAll()) {
-            String cat = exp.getCategory().toLowerCase();
+    public MyList<MyMap.Entry<String, Double>> topCategories() {
+        MyMap<String, Double> totals = aggregates.categoryTotals();
+        return topTotals(totals, totals.size());
+    }
 
-            Double current = categoryMap.get(cat);
-            if (current == null) current = 0.0;
+    /**
+     * Returns the k categories with the highest totals, highest first.
+     */
+    public MyList<MyMap.Entry<String, Double>> topCategories(int k) {
+        return topTotals(aggregates.categoryTotals(), k);
+    }
 
-            categoryMap.put(cat, current + exp.getAmount());
-        }
+    public MyList<MyMap.Entry<String, Double>> topAccounts(int k) {
+        return topTotals(aggregates.accountTotals(), k);
+    }
 
-        return sortMapByValueDescending(categoryMap);
+    public MyList<MyMap.Entry<String, Double>> topPhases(int k) {
+        return topTotals(aggregates.phaseTotals(), k);
     }
 
     /**
-     * Utility: Sorts map by value (descending)
+     * Returns the k largest expenditures, largest first; equal amounts
+     * keep their insertion order.
      */
-    private MyMap<String, Double> sortMapByValueDescending(MyMap<String, Double> map) {
-        MyList<MyMap.Entry<String, Double>> entries = new MyArrayList<>();
-        for (MyMap.Entry<String, Double> entry : map.entrySet()) {
-            entries.add(entry);
-        }
-
-        // Manual bubble sort (or replace with your comparator if defined)
-        for (int i = 0; i < entries.size() - 1; i++) {
-            for (int j = 0; j < entries.size() - i - 1; j++) {
-                if (entries.get(j).getValue() < entries.get(j + 1).getValue()) {
-                    MyMap.Entry<String, Double> temp = entries.get(j);
-                    entries.set(j, entries.get(j + 1));
-                    entries.set(j + 1, temp);
-                }
-            }
+    public MyList<Expenditure> largestExpenditures(int k) {
+        MyTopK<Expenditure> top = new MyTopK<>(k, Comparator.comparingDouble(Expenditure::getAmount));
+        MyList<Expenditure> all = expManager.getAll();
+        for (int i = 0; i < all.size(); i++) {
+            top.offer(all.get(i));
         }
+        return top.toList();
+    }
 
-        MyMap<String, Double> sorted = new MyHashMap<>();
-        for (MyMap.Entry<String, Double> entry : entries) {
-            sorted.put(entry.getKey(), entry.getValue());
+    // Highest totals first; equal totals by name
+    private static MyList<MyMap.Entry<String, Double>> topTotals(MyMap<String, Double> totals, int k) {
+        MyTopK<MyMap.Entry<String, Double>> top = new MyTopK<>(k,
+                Comparator.<MyMap.Entry<String, Double>>comparingDouble(MyMap.Entry::getValue)
+                        .thenComparing(MyMap.Entry::getKey, Comparator.reverseOrder()));
+        for (MyMap.Entry<String, Double> entry : totals.entrySet()) {
+            top.offer(entry);
         }
-
-        return sorted;
+        return top.toList();
     }
 }
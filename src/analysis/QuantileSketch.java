@@ -0,0 +1,226 @@
+package analysis;
+
+import java.util.Arrays;
+
+/**
+ * KLL streaming quantile sketch. Keeps a stack of compactors whose
+ * capacities shrink geometrically toward the bottom; when the sketch is
+ * full, the lowest overfull compactor is sorted and every other value is
+ * promoted a level with doubled weight. Memory stays O(k) however many
+ * values are added, and rank error is roughly 1.7 / k.
+ *
+ * Sketches built over separate partitions combine with {@link #merge}.
+ * Not thread-safe.
+ */
+public class QuantileSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int levelCount = 1;
+    private int[] capacities;
+    private int totalCapacity;
+    private int retained;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    // Sorted view for queries, rebuilt after the sketch changes
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8.");
+        }
+        this.k = k;
+        levels[0] = new double[16];
+        updateCapacities();
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        append(0, value);
+        compressIfFull();
+        sortedValues = null;
+    }
+
+    /**
+     * Folds another sketch's values into this one.
+     * @return this sketch
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return this;
+        }
+        while (levelCount < other.levelCount) {
+            addLevel();
+        }
+        for (int level = 0; level < other.levelCount; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compressIfFull();
+        sortedValues = null;
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the approximate value at the given quantile (0 = min, 1 = max),
+     * or NaN if the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1].");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) return min;
+        if (q == 1) return max;
+        buildSortedView();
+        long total = cumulativeWeights[cumulativeWeights.length - 1];
+        long target = (long) Math.ceil(q * total);
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return sortedValues[low];
+    }
+
+    public double median() {
+        return quantile(0.5);
+    }
+
+    // The top level holds k values, each level below 2/3 of the one above
+    private void updateCapacities() {
+        capacities = new int[levelCount];
+        totalCapacity = 0;
+        for (int level = 0; level < levelCount; level++) {
+            int depth = levelCount - 1 - level;
+            capacities[level] = Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+            totalCapacity += capacities[level];
+        }
+    }
+
+    private void append(int level, double value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(4, levels[level].length * 2));
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            sizes = Arrays.copyOf(sizes, levelCount * 2);
+        }
+        levels[levelCount] = new double[4];
+        sizes[levelCount] = 0;
+        levelCount++;
+        updateCapacities();
+    }
+
+    private void compressIfFull() {
+        while (retained >= totalCapacity) {
+            int level = 0;
+            while (sizes[level] < capacities[level]) {
+                level++;
+            }
+            compact(level);
+        }
+    }
+
+    // Promotes every other sorted value of a level to the next level up
+    private void compact(int level) {
+        if (level + 1 == levelCount) {
+            addLevel();
+        }
+        double[] values = levels[level];
+        int size = sizes[level];
+        Arrays.sort(values, 0, size);
+        int kept = size % 2; // an odd value out stays behind
+        int offset = nextBit();
+        for (int i = kept + offset; i < size; i += 2) {
+            append(level + 1, values[i]);
+        }
+        retained -= size - kept;
+        sizes[level] = kept;
+    }
+
+    private int nextBit() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed & 1);
+    }
+
+    private void buildSortedView() {
+        if (sortedValues != null) {
+            return;
+        }
+        int n = retained;
+        double[] values = new double[n];
+        long[] weights = new long[n];
+        int i = 0;
+        for (int level = 0; level < levelCount; level++) {
+            for (int j = 0; j < sizes[level]; j++) {
+                values[i] = levels[level][j];
+                weights[i++] = 1L << level;
+            }
+        }
+        // Sort values with their weights
+        Integer[] order = new Integer[n];
+        for (int j = 0; j < n; j++) order[j] = j;
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        sortedValues = new double[n];
+        cumulativeWeights = new long[n];
+        long running = 0;
+        for (int j = 0; j < n; j++) {
+            sortedValues[j] = values[order[j]];
+            running += weights[order[j]];
+            cumulativeWeights[j] = running;
+        }
+    }
+}
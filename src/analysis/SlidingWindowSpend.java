@@ -0,0 +1,196 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+import utils.MyHashMap;
+import utils.MyMap;
+import utils.Money;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Spend over the last N days (by default 7, 30 and 90), overall, per
+ * account and per category. Each group keeps a ring of daily totals as long
+ * as the widest window, plus a running sum per window; moving to a new
+ * day subtracts only the days that fall out, so any window total is O(1).
+ * Amounts are kept in minor units (pesewas) so repeated adds and
+ * subtractions leave no rounding residue.
+ *
+ * "Today" is the later of the system date and the newest expenditure date,
+ * but never more than {@link #MAX_LEAD_DAYS} past the system date, so a
+ * mistyped future year cannot push every window past the real data.
+ * Windows include today. Expenditures older than the widest window, later
+ * than that limit or with implausible dates are ignored.
+ */
+public class SlidingWindowSpend implements ExpenditureListener {
+
+    /**
+     * How far past the system date an expenditure may be dated and still
+     * count; one day covers time zone differences.
+     */
+    public static final int MAX_LEAD_DAYS = 1;
+
+    // Daily totals in minor units for one group, newest day at headDay
+    private static class Ring {
+        final long[] days;
+        final long[] sums;
+        int headDay;
+
+        Ring(int capacity, int windows, int today) {
+            days = new long[capacity];
+            sums = new long[windows];
+            headDay = today;
+        }
+
+        int slot(int day) {
+            return Math.floorMod(day, days.length);
+        }
+
+        void advance(int today, int[] windows) {
+            if (today <= headDay) {
+                return;
+            }
+            if (today - headDay >= days.length) {
+                Arrays.fill(days, 0);
+                Arrays.fill(sums, 0);
+                headDay = today;
+                return;
+            }
+            for (int day = headDay + 1; day <= today; day++) {
+                for (int w = 0; w < windows.length; w++) {
+                    sums[w] -= days[slot(day - windows[w])];
+                }
+                days[slot(day)] = 0; // slot held the day leaving the ring
+            }
+            headDay = today;
+        }
+
+        void add(int day, long amount, int[] windows) {
+            int age = headDay - day;
+            if (age < 0 || age >= days.length) {
+                return;
+            }
+            days[slot(day)] += amount;
+            for (int w = 0; w < windows.length; w++) {
+                if (age < windows[w]) {
+                    sums[w] += amount;
+                }
+            }
+        }
+    }
+
+    private final int[] windows;
+    private final int capacity;
+    private final Ring overall;
+    private final MyMap<String, Ring> byAccount = new MyHashMap<>();
+    private final MyMap<String, Ring> byCategory = new MyHashMap<>();
+    private int today;
+
+    public SlidingWindowSpend() {
+        this(7, 30, 90);
+    }
+
+    /**
+     * @param windows window lengths in days, each at least 1
+     */
+    public SlidingWindowSpend(int... windows) {
+        if (windows.length == 0) {
+            throw new IllegalArgumentException("At least one window is required.");
+        }
+        int widest = 0;
+        for (int window : windows) {
+            if (window < 1) {
+                throw new IllegalArgumentException("Windows must be at least one day.");
+            }
+            widest = Math.max(widest, window);
+        }
+        this.windows = windows.clone();
+        this.capacity = widest;
+        this.today = DateKeys.epochDay(new Date());
+        this.overall = new Ring(capacity, windows.length, today);
+    }
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        update(exp, Money.toMinor(exp.getAmount()));
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        update(exp, -Money.toMinor(exp.getAmount()));
+    }
+
+    private void update(Expenditure exp, long amount) {
+        int day = exp.getEpochDay();
+        if (!DateKeys.isPlausible(exp.getMonthKey())
+                || day > DateKeys.epochDay(new Date()) + MAX_LEAD_DAYS) {
+            return;
+        }
+        if (day > today) {
+            today = day; // data slightly ahead of the clock moves the windows forward
+        }
+        if (today - day >= capacity) {
+            return;
+        }
+        add(overall, day, amount);
+        add(ring(byAccount, exp.getAccountId()), day, amount);
+        add(ring(byCategory, exp.getCategory().toLowerCase()), day, amount);
+    }
+
+    private void add(Ring ring, int day, long amount) {
+        ring.advance(today, windows);
+        ring.add(day, amount, windows);
+    }
+
+    private Ring ring(MyMap<String, Ring> rings, String key) {
+        Ring ring = rings.get(key);
+        if (ring == null) {
+            ring = new Ring(capacity, windows.length, today);
+            rings.put(key, ring);
+        }
+        return ring;
+    }
+
+    /**
+     * Moves "today" to the system date if it has passed the current day.
+     */
+    public synchronized void advanceClock() {
+        today = Math.max(today, DateKeys.epochDay(new Date()));
+    }
+
+    public synchronized double total(int days) {
+        return sum(overall, days);
+    }
+
+    public synchronized double accountTotal(String accountId, int days) {
+        return sum(byAccount.get(accountId), days);
+    }
+
+    public synchronized double categoryTotal(String category, int days) {
+        return sum(byCategory.get(category.toLowerCase()), days);
+    }
+
+    private double sum(Ring ring, int days) {
+        int w = windowIndex(days);
+        if (ring == null) {
+            return 0;
+        }
+        ring.advance(today, windows);
+        return Money.toMajor(ring.sums[w]);
+    }
+
+    private int windowIndex(int days) {
+        for (int w = 0; w < windows.length; w++) {
+            if (windows[w] == days) {
+                return w;
+            }
+        }
+        throw new IllegalArgumentException("No " + days + "-day window is tracked.");
+    }
+
+    public int[] getWindows() {
+        return windows.clone();
+    }
+}
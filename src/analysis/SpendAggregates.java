@@ -0,0 +1,88 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+import utils.MyHashMap;
+import utils.MyMap;
+import utils.MyTreeMap;
+
+/**
+ * Materialized spend totals by month, category, phase and account.
+ * Kept current through {@link ExpenditureListener} events, so queries cost
+ * time proportional to the number of groups rather than expenditures.
+ */
+public class SpendAggregates implements ExpenditureListener {
+
+    // Running total for one group
+    private static class Group {
+        double total;
+        int count;
+    }
+
+    private final MyMap<Integer, Group> byMonth = new MyHashMap<>();
+    private final MyMap<String, Group> byCategory = new MyHashMap<>();
+    private final MyMap<String, Group> byPhase = new MyHashMap<>();
+    private final MyMap<String, Group> byAccount = new MyHashMap<>();
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        update(exp, 1);
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        update(exp, -1);
+    }
+
+    private void update(Expenditure exp, int sign) {
+        apply(byMonth, exp.getMonthKey(), exp.getAmount(), sign);
+        apply(byCategory, exp.getCategory().toLowerCase(), exp.getAmount(), sign);
+        apply(byPhase, exp.getPhase().toLowerCase(), exp.getAmount(), sign);
+        apply(byAccount, exp.getAccountId(), exp.getAmount(), sign);
+    }
+
+    private static <K> void apply(MyMap<K, Group> groups, K key, double amount, int sign) {
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group();
+            groups.put(key, group);
+        }
+        group.total += sign * amount;
+        group.count += sign;
+        if (group.count <= 0) {
+            groups.remove(key);
+        }
+    }
+
+    /**
+     * Total per month, keyed "MM-yyyy", in calendar order.
+     */
+    public synchronized MyMap<String, Double> monthlyTotals() {
+        MyMap<String, Double> result = new MyTreeMap<>(DateKeys.MONTH_LABEL_ORDER);
+        for (MyMap.Entry<Integer, Group> entry : byMonth.entrySet()) {
+            result.put(DateKeys.formatMonthKey(entry.getKey()), entry.getValue().total);
+        }
+        return result;
+    }
+
+    public synchronized MyMap<String, Double> categoryTotals() {
+        return totals(byCategory);
+    }
+
+    public synchronized MyMap<String, Double> phaseTotals() {
+        return totals(byPhase);
+    }
+
+    public synchronized MyMap<String, Double> accountTotals() {
+        return totals(byAccount);
+    }
+
+    private static MyMap<String, Double> totals(MyMap<String, Group> groups) {
+        MyMap<String, Double> result = new MyHashMap<>();
+        for (MyMap.Entry<String, Group> entry : groups.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().total);
+        }
+        return result;
+    }
+}
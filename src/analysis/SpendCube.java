@@ -0,0 +1,314 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+import utils.FileStorage;
+import utils.MyArrayList;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+import utils.MyTreeMap;
+
+import java.io.File;
+
+/**
+ * Sparse spend cube over phase × category × account × month.
+ * Dimension values are dictionary-encoded to small integer IDs and packed
+ * into one long per cell; each value keeps a posting list of the cells it
+ * appears in, so a query visits only the cells of its most selective fixed
+ * dimension. Kept current through {@link ExpenditureListener} events.
+ *
+ * Phases and categories are matched case-insensitively.
+ */
+public class SpendCube implements ExpenditureListener {
+
+    /**
+     * Cube axes.
+     */
+    public enum Dimension { PHASE, CATEGORY, ACCOUNT, MONTH }
+
+    private static final int DIMENSIONS = 4;
+    private static final int BITS = 16;
+    private static final long MASK = (1L << BITS) - 1;
+
+    /**
+     * Fixes some dimensions to a value; unset dimensions are not filtered.
+     * Months are given as "MM-yyyy".
+     */
+    public static class Slice {
+        private final String[] values = new String[DIMENSIONS];
+
+        public Slice phase(String phase) { return with(Dimension.PHASE, phase); }
+        public Slice category(String category) { return with(Dimension.CATEGORY, category); }
+        public Slice account(String account) { return with(Dimension.ACCOUNT, account); }
+        public Slice month(String month) { return with(Dimension.MONTH, month); }
+
+        /**
+         * Returns a copy of this slice with one more dimension fixed.
+         */
+        public Slice drillDown(Dimension dimension, String value) {
+            Slice copy = new Slice();
+            System.arraycopy(values, 0, copy.values, 0, DIMENSIONS);
+            return copy.with(dimension, value);
+        }
+
+        private Slice with(Dimension dimension, String value) {
+            values[dimension.ordinal()] = value;
+            return this;
+        }
+    }
+
+    // Total and count for one combination of dimension values
+    private static class Cell {
+        double total;
+        int count;
+    }
+
+    // Value ↔ ID encoding for one dimension, with a posting list per ID
+    private static class Dictionary {
+        final MyMap<String, Integer> ids = new MyHashMap<>();
+        final MyList<String> names = new MyArrayList<>();
+        final MyList<MyList<Long>> postings = new MyArrayList<>();
+
+        int idOf(String name) {
+            Integer id = ids.get(name);
+            if (id == null) {
+                if (names.size() > MASK) {
+                    throw new IllegalStateException("Too many distinct values for the cube: " + name);
+                }
+                id = names.size();
+                ids.put(name, id);
+                names.add(name);
+                postings.add(new MyArrayList<>());
+            }
+            return id;
+        }
+    }
+
+    private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS];
+    private final MyMap<Long, Cell> cells = new MyHashMap<>();
+    private int expenditureCount;
+
+    public SpendCube() {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            dictionaries[d] = new Dictionary();
+        }
+    }
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        add(exp.getPhase().toLowerCase(), exp.getCategory().toLowerCase(), exp.getAccountId(),
+                monthName(exp), exp.getAmount(), 1);
+        expenditureCount++;
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        add(exp.getPhase().toLowerCase(), exp.getCategory().toLowerCase(), exp.getAccountId(),
+                monthName(exp), -exp.getAmount(), -1);
+        expenditureCount--;
+    }
+
+    // Months are stored by key, so no date formatting happens per posting
+    private static String monthName(Expenditure exp) {
+        return Integer.toString(exp.getMonthKey());
+    }
+
+    private void add(String phase, String category, String account, String month, double amount, int count) {
+        String[] values = { phase, category, account, month };
+        long key = 0;
+        int[] ids = new int[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            ids[d] = dictionaries[d].idOf(values[d]);
+            key |= (long) ids[d] << (d * BITS);
+        }
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(key, cell);
+            for (int d = 0; d < DIMENSIONS; d++) {
+                dictionaries[d].postings.get(ids[d]).add(key);
+            }
+        }
+        cell.total += amount;
+        cell.count += count;
+    }
+
+    private static int idAt(long key, int dimension) {
+        return (int) ((key >>> (dimension * BITS)) & MASK);
+    }
+
+    public synchronized int cellCount() {
+        return cells.size();
+    }
+
+    // ---------------------------------------------------------------- queries
+
+    public synchronized double total(Slice slice) {
+        double total = 0;
+        for (Cell cell : matching(slice)) {
+            total += cell.total;
+        }
+        return total;
+    }
+
+    public synchronized int count(Slice slice) {
+        int count = 0;
+        for (Cell cell : matching(slice)) {
+            count += cell.count;
+        }
+        return count;
+    }
+
+    /**
+     * Totals of the slice grouped by one dimension. Grouping by a dimension
+     * the slice leaves open is a drill-down; grouping a finer slice by a
+     * coarser dimension is a roll-up. Months are keyed "MM-yyyy", in calendar order.
+     */
+    public synchronized MyMap<String, Double> rollUp(Slice slice, Dimension by) {
+        int d = by.ordinal();
+        MyMap<Integer, Double> byId = new MyHashMap<>();
+        for (long key : matchingKeys(slice)) {
+            Cell cell = cells.get(key);
+            int id = idAt(key, d);
+            byId.put(id, byId.getOrDefault(id, 0.0) + cell.total);
+        }
+        MyMap<String, Double> result = by == Dimension.MONTH
+                ? new MyTreeMap<>(DateKeys.MONTH_LABEL_ORDER) : new MyHashMap<>();
+        for (MyMap.Entry<Integer, Double> entry : byId.entrySet()) {
+            result.put(label(d, entry.getKey()), entry.getValue());
+        }
+        return result;
+    }
+
+    private String label(int dimension, int id) {
+        String name = dictionaries[dimension].names.get(id);
+        return dimension == Dimension.MONTH.ordinal() ? DateKeys.formatMonthKey(Integer.parseInt(name)) : name;
+    }
+
+    private MyList<Cell> matching(Slice slice) {
+        MyList<Cell> result = new MyArrayList<>();
+        for (long key : matchingKeys(slice)) {
+            result.add(cells.get(key));
+        }
+        return result;
+    }
+
+    // Cells with a nonzero count that match every fixed dimension
+    private MyList<Long> matchingKeys(Slice slice) {
+        int[] wanted = new int[DIMENSIONS];
+        MyList<Long> smallest = null;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            wanted[d] = -1;
+            String value = slice.values[d];
+            if (value == null) continue;
+            Integer id = dictionaries[d].ids.get(normalize(d, value));
+            if (id == null) {
+                return new MyArrayList<>(); // value never seen
+            }
+            wanted[d] = id;
+            MyList<Long> postings = dictionaries[d].postings.get(id);
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+
+        Iterable<Long> candidates = smallest != null ? smallest : cells.keySet();
+        MyList<Long> result = new MyArrayList<>();
+        for (long key : candidates) {
+            if (cells.get(key).count <= 0) continue;
+            boolean match = true;
+            for (int d = 0; d < DIMENSIONS && match; d++) {
+                match = wanted[d] < 0 || idAt(key, d) == wanted[d];
+            }
+            if (match) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(int dimension, String value) {
+        if (dimension == Dimension.MONTH.ordinal()) {
+            return Integer.toString(DateKeys.parseMonthKey(value));
+        }
+        return dimension == Dimension.ACCOUNT.ordinal() ? value : value.toLowerCase();
+    }
+
+    // ------------------------------------------------------------ persistence
+
+    /**
+     * Saves the cube as a "cube,count,sourceLength,sourceModified" header
+     * followed by one "phase,category,account,monthKey,total,count" line per
+     * cell. Call it after the expenditure file has been written, so the
+     * header stamps the data the cube was built from.
+     * @param sourceFile the expenditure file the cube mirrors
+     */
+    public synchronized void saveToFile(String filepath, String sourceFile) {
+        File source = new File(sourceFile);
+        MyList<String> lines = new MyArrayList<>();
+        lines.add("cube," + expenditureCount + "," + source.length() + "," + source.lastModified());
+        for (MyMap.Entry<Long, Cell> entry : cells.entrySet()) {
+            Cell cell = entry.getValue();
+            if (cell.count <= 0) continue;
+            StringBuilder line = new StringBuilder();
+            for (int d = 0; d < DIMENSIONS; d++) {
+                line.append(dictionaries[d].names.get(idAt(entry.getKey(), d))).append(',');
+            }
+            line.append(cell.total).append(',').append(cell.count);
+            lines.add(line.toString());
+        }
+        FileStorage.writeLines(filepath, lines);
+    }
+
+    /**
+     * Loads a saved cube if the expenditure file is unchanged since it was
+     * saved: same length and modification time, and the same number of
+     * expenditures loaded. The check reads no expenditures. The cube must
+     * be empty.
+     * @return false if the file is missing, malformed or out of date; the cube is then left empty
+     */
+    public synchronized boolean loadFromFile(String filepath, String sourceFile, int expenditures) {
+        if (!new File(filepath).isFile()) {
+            return false;
+        }
+        MyList<String> lines = FileStorage.readLines(filepath);
+        if (lines.isEmpty()) {
+            return false;
+        }
+        File source = new File(sourceFile);
+        String[] header = lines.get(0).split(",");
+        try {
+            if (header.length != 4 || !header[0].equals("cube")
+                    || Integer.parseInt(header[1]) != expenditures
+                    || Long.parseLong(header[2]) != source.length()
+                    || Long.parseLong(header[3]) != source.lastModified()) {
+                return false;
+            }
+            for (int i = 1; i < lines.size(); i++) {
+                String[] parts = lines.get(i).split(",");
+                if (parts.length != 6) {
+                    throw new NumberFormatException("bad cell line");
+                }
+                add(parts[0], parts[1], parts[2], parts[3], Double.parseDouble(parts[4]), Integer.parseInt(parts[5]));
+            }
+        } catch (NumberFormatException | IllegalStateException e) { // bad number, or too many values
+            System.out.println("⚠️ Ignoring invalid cube file: " + filepath);
+            clear();
+            return false;
+        }
+        expenditureCount = expenditures;
+        return true;
+    }
+
+    private void clear() {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            dictionaries[d] = new Dictionary();
+        }
+        for (Long key : cells.keySet()) {
+            cells.remove(key);
+        }
+        expenditureCount = 0;
+    }
+}
@@ -0,0 +1,98 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+
+/**
+ * Per-category, per-phase and per-month {@link QuantileSketch}es of
+ * expenditure amounts, kept current through {@link ExpenditureListener}
+ * events, for median and p95/p99 lookups without sorting any group.
+ *
+ * Sketches cannot forget values, so a removal marks the distributions
+ * stale; the owner rebuilds them with {@link #rebuild(MyList)}.
+ */
+public class SpendDistributions implements ExpenditureListener {
+
+    private final MyMap<String, QuantileSketch> byCategory = new MyHashMap<>();
+    private final MyMap<String, QuantileSketch> byPhase = new MyHashMap<>();
+    private final MyMap<Integer, QuantileSketch> byMonth = new MyHashMap<>();
+    private boolean stale;
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        add(exp);
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        stale = true;
+    }
+
+    private void add(Expenditure exp) {
+        sketch(byCategory, exp.getCategory().toLowerCase()).add(exp.getAmount());
+        sketch(byPhase, exp.getPhase().toLowerCase()).add(exp.getAmount());
+        sketch(byMonth, exp.getMonthKey()).add(exp.getAmount());
+    }
+
+    private static <K> QuantileSketch sketch(MyMap<K, QuantileSketch> sketches, K key) {
+        QuantileSketch sketch = sketches.get(key);
+        if (sketch == null) {
+            sketch = new QuantileSketch();
+            sketches.put(key, sketch);
+        }
+        return sketch;
+    }
+
+    public synchronized boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Rebuilds every sketch from the given expenditures.
+     */
+    public synchronized void rebuild(MyList<Expenditure> expenditures) {
+        clear(byCategory);
+        clear(byPhase);
+        clear(byMonth);
+        for (int i = 0; i < expenditures.size(); i++) {
+            add(expenditures.get(i));
+        }
+        stale = false;
+    }
+
+    private static <K> void clear(MyMap<K, QuantileSketch> sketches) {
+        for (K key : sketches.keySet()) {
+            sketches.remove(key);
+        }
+    }
+
+    /**
+     * Approximate amount at quantile q within a category, or NaN if unknown.
+     */
+    public synchronized double categoryQuantile(String category, double q) {
+        return quantile(byCategory.get(category.toLowerCase()), q);
+    }
+
+    public synchronized double phaseQuantile(String phase, double q) {
+        return quantile(byPhase.get(phase.toLowerCase()), q);
+    }
+
+    /**
+     * @param month "MM-yyyy"
+     */
+    public synchronized double monthQuantile(String month, double q) {
+        return quantile(byMonth.get(DateKeys.parseMonthKey(month)), q);
+    }
+
+    private static double quantile(QuantileSketch sketch, double q) {
+        return sketch == null ? Double.NaN : sketch.quantile(q);
+    }
+
+    public synchronized Iterable<String> categories() {
+        return byCategory.keySet();
+    }
+}
@@ -0,0 +1,103 @@
+package analysis;
+
+/**
+ * Tight aggregation loops over primitive columns (see {@link ExpenditureColumns}).
+ * Loops are unrolled over four independent accumulators and avoid
+ * branches in the body, which lets the JIT keep them in registers and
+ * auto-vectorize where the platform allows.
+ *
+ * Every method reads the first n elements of its arrays.
+ */
+public final class SpendKernels {
+
+    private SpendKernels() {
+    }
+
+    public static double sum(double[] values, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += values[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Sums values whose key lies in [low, high].
+     */
+    public static double filteredSum(double[] values, int[] keys, int low, int high, int n) {
+        if (high < low) {
+            return 0;
+        }
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += inRange(keys[i], low, high) ? values[i] : 0;
+            s1 += inRange(keys[i + 1], low, high) ? values[i + 1] : 0;
+            s2 += inRange(keys[i + 2], low, high) ? values[i + 2] : 0;
+            s3 += inRange(keys[i + 3], low, high) ? values[i + 3] : 0;
+        }
+        for (; i < n; i++) {
+            s0 += inRange(keys[i], low, high) ? values[i] : 0;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Smallest value in the given group, or +Infinity if the group is empty.
+     */
+    public static double maskedMin(double[] values, int[] groups, int group, int n) {
+        double m0 = Double.POSITIVE_INFINITY, m1 = m0, m2 = m0, m3 = m0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            m0 = Math.min(m0, groups[i] == group ? values[i] : Double.POSITIVE_INFINITY);
+            m1 = Math.min(m1, groups[i + 1] == group ? values[i + 1] : Double.POSITIVE_INFINITY);
+            m2 = Math.min(m2, groups[i + 2] == group ? values[i + 2] : Double.POSITIVE_INFINITY);
+            m3 = Math.min(m3, groups[i + 3] == group ? values[i + 3] : Double.POSITIVE_INFINITY);
+        }
+        for (; i < n; i++) {
+            m0 = Math.min(m0, groups[i] == group ? values[i] : Double.POSITIVE_INFINITY);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    /**
+     * Largest value in the given group, or -Infinity if the group is empty.
+     */
+    public static double maskedMax(double[] values, int[] groups, int group, int n) {
+        double m0 = Double.NEGATIVE_INFINITY, m1 = m0, m2 = m0, m3 = m0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            m0 = Math.max(m0, groups[i] == group ? values[i] : Double.NEGATIVE_INFINITY);
+            m1 = Math.max(m1, groups[i + 1] == group ? values[i + 1] : Double.NEGATIVE_INFINITY);
+            m2 = Math.max(m2, groups[i + 2] == group ? values[i + 2] : Double.NEGATIVE_INFINITY);
+            m3 = Math.max(m3, groups[i + 3] == group ? values[i + 3] : Double.NEGATIVE_INFINITY);
+        }
+        for (; i < n; i++) {
+            m0 = Math.max(m0, groups[i] == group ? values[i] : Double.NEGATIVE_INFINITY);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * Sums values per group. Group IDs must lie in [0, groupCount).
+     */
+    public static double[] histogram(double[] values, int[] groups, int groupCount, int n) {
+        double[] sums = new double[groupCount];
+        for (int i = 0; i < n; i++) {
+            sums[groups[i]] += values[i];
+        }
+        return sums;
+    }
+
+    private static boolean inRange(int key, int low, int high) {
+        // One unsigned comparison instead of two signed ones
+        return Integer.compareUnsigned(key - low, high - low) <= 0;
+    }
+}
@@ -0,0 +1,239 @@
+package analysis;
+
+import managers.ExpenditureListener;
+import models.Expenditure;
+import utils.DateKeys;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Spend totals in chronological monthly, weekly and daily buckets, kept
+ * current through {@link ExpenditureListener} events. Buckets are
+ * contiguous primitive arrays indexed from the earliest period seen, so
+ * gaps read as zero and every query is O(periods).
+ *
+ * Expenditures with implausible dates (see {@link DateKeys#isPlausible})
+ * are left out, so a mistyped year cannot stretch the daily buckets over
+ * centuries; the span is bounded by the plausible range.
+ */
+public class SpendTimeSeries implements ExpenditureListener {
+
+    /**
+     * Bucket width.
+     */
+    public enum Granularity { MONTH, WEEK, DAY }
+
+    // Totals and counts for consecutive periods starting at origin
+    private static class Buckets {
+        int origin;
+        double[] totals = new double[0];
+        int[] counts = new int[0];
+
+        void add(int key, double amount, int count) {
+            if (totals.length == 0) {
+                origin = key;
+                totals = new double[8];
+                counts = new int[8];
+            } else if (key < origin) {
+                int shift = origin - key;
+                totals = shifted(totals, shift);
+                counts = shifted(counts, shift);
+                origin = key;
+            } else if (key - origin >= totals.length) {
+                int length = Math.max(totals.length * 2, key - origin + 1);
+                totals = Arrays.copyOf(totals, length);
+                counts = Arrays.copyOf(counts, length);
+            }
+            totals[key - origin] += amount;
+            counts[key - origin] += count;
+        }
+
+        private static double[] shifted(double[] array, int shift) {
+            double[] grown = new double[array.length + shift];
+            System.arraycopy(array, 0, grown, shift, array.length);
+            return grown;
+        }
+
+        private static int[] shifted(int[] array, int shift) {
+            int[] grown = new int[array.length + shift];
+            System.arraycopy(array, 0, grown, shift, array.length);
+            return grown;
+        }
+
+        // Index of the last bucket with expenditures, or -1
+        int last() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) return i;
+            }
+            return -1;
+        }
+
+        int first() {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) return i;
+            }
+            return -1;
+        }
+    }
+
+    private final Buckets months = new Buckets();
+    private final Buckets weeks = new Buckets();
+    private final Buckets days = new Buckets();
+    private int ignored;
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        update(exp, exp.getAmount(), 1);
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        update(exp, -exp.getAmount(), -1);
+    }
+
+    private void update(Expenditure exp, double amount, int count) {
+        if (!DateKeys.isPlausible(exp.getMonthKey())) {
+            ignored += count;
+            return;
+        }
+        months.add(exp.getMonthKey(), amount, count);
+        weeks.add(weekKey(exp.getEpochDay()), amount, count);
+        days.add(exp.getEpochDay(), amount, count);
+    }
+
+    // Weeks start on Monday; 1970-01-01 was a Thursday
+    private static int weekKey(int epochDay) {
+        return Math.floorDiv(epochDay + 3, 7);
+    }
+
+    /**
+     * Number of expenditures currently left out for implausible dates.
+     */
+    public synchronized int getIgnoredCount() {
+        return ignored;
+    }
+
+    private Buckets buckets(Granularity granularity) {
+        switch (granularity) {
+            case MONTH: return months;
+            case WEEK: return weeks;
+            default: return days;
+        }
+    }
+
+    /**
+     * Returns the totals of the last n periods up to and including the
+     * latest period with expenditures, oldest first. Periods before the
+     * first expenditure are not included, so fewer than n may be returned.
+     */
+    public synchronized double[] lastPeriods(Granularity granularity, int n) {
+        Buckets b = buckets(granularity);
+        int last = b.last();
+        if (last < 0 || n <= 0) {
+            return new double[0];
+        }
+        int from = Math.max(b.first(), last - n + 1);
+        return Arrays.copyOfRange(b.totals, from, last + 1);
+    }
+
+    /**
+     * Returns the totals of the last n periods that had expenditures, oldest first.
+     */
+    public synchronized double[] lastActivePeriods(Granularity granularity, int n) {
+        Buckets b = buckets(granularity);
+        double[] result = new double[Math.max(n, 0)];
+        int found = 0;
+        for (int i = b.counts.length - 1; i >= 0 && found < n; i--) {
+            if (b.counts[i] > 0) {
+                result[n - 1 - found++] = b.totals[i];
+            }
+        }
+        return Arrays.copyOfRange(result, n - found, n);
+    }
+
+    /**
+     * Number of periods from the first to the latest with expenditures.
+     */
+    public synchronized int periodCount(Granularity granularity) {
+        Buckets b = buckets(granularity);
+        int last = b.last();
+        return last < 0 ? 0 : last - b.first() + 1;
+    }
+
+    /**
+     * Label of the latest period with expenditures ("MM-yyyy" for months,
+     * the start date "dd-MM-yyyy" otherwise), or null if empty.
+     */
+    public synchronized String latestPeriod(Granularity granularity) {
+        Buckets b = buckets(granularity);
+        int last = b.last();
+        if (last < 0) {
+            return null;
+        }
+        int key = b.origin + last;
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        switch (granularity) {
+            case MONTH: return DateKeys.formatMonthKey(key);
+            case WEEK: return LocalDate.ofEpochDay(key * 7L - 3).format(format);
+            default: return LocalDate.ofEpochDay(key).format(format);
+        }
+    }
+
+    /**
+     * Mean of the last window periods, or NaN if there is no data.
+     */
+    public double movingAverage(Granularity granularity, int window) {
+        double[] values = lastPeriods(granularity, window);
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        return SpendKernels.sum(values, values.length) / values.length;
+    }
+
+    /**
+     * Exponentially smoothed level over the last n periods, or NaN if there
+     * is no data.
+     * @param alpha weight of the newest period, in (0, 1]
+     */
+    public double exponentialSmoothing(Granularity granularity, double alpha, int n) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1].");
+        }
+        double[] values = lastPeriods(granularity, n);
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double level = values[0];
+        for (int i = 1; i < values.length; i++) {
+            level = alpha * values[i] + (1 - alpha) * level;
+        }
+        return level;
+    }
+
+    /**
+     * Least-squares slope of spend per period over the last n periods, or
+     * NaN with fewer than two periods. Positive means spending is rising.
+     */
+    public double trend(Granularity granularity, int n) {
+        return slope(lastPeriods(granularity, n));
+    }
+
+    static double slope(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double meanX = (n - 1) / 2.0;
+        double meanY = SpendKernels.sum(values, n) / n;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            double dx = i - meanX;
+            covariance += dx * (values[i] - meanY);
+            variance += dx * dx;
+        }
+        return covariance / variance;
+    }
+}
@@ -26,7 +26,7 @@ public class AccountGraph {
 
     public MySet<String> getReachableAccounts(String startAccount) {
         MySet<String> visited = new MyHashSet<>();
-        MyQueue<String> queue = new MyLinkedQueue<>();
+        MyQueue<String> queue = new MyArrayDeque<>();
         queue.enqueue(startAccount);
 
         while (!queue.isEmpty()) {
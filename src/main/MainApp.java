@@ -1,18 +1,34 @@
 package main;
 
 import managers.BankAccountManager;
+import managers.BudgetManager;
 import managers.ExpenditureManager;
 import models.BankAccount;
 import models.Expenditure;
 import managers.ReceiptManager;
+import managers.ReceiptScorer;
 import managers.CategoryManager;
+import managers.EventBus;
+import managers.ManagerEvents;
+import managers.ReceiptValidationPipeline;
+import managers.Transaction;
+import managers.TransactionManager;
+import analysis.AnomalyDetector;
+import analysis.Dashboard;
+import analysis.DistinctCounts;
+import analysis.ExpenditureColumns;
 import analysis.FinancialAnalysis;
+import analysis.SlidingWindowSpend;
+import analysis.SpendCube;
+import analysis.SpendDistributions;
 import graph.AccountGraph;
 import reports.ReportGenerator;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import utils.MyArrayList;
+import utils.MyHashMap;
 import utils.MyList;
 import utils.MyMap;
 import java.util.Scanner;
@@ -29,10 +45,23 @@ public class MainApp {
     static Scanner scanner = new Scanner(System.in);
     static ExpenditureManager expenditureManager = new ExpenditureManager();
     static BankAccountManager bankManager = new BankAccountManager();
+    static TransactionManager transactionManager = new TransactionManager(bankManager, expenditureManager);
     static SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy");
     static CategoryManager categoryManager = new CategoryManager();
     static ReceiptManager receiptManager = new ReceiptManager();
-    static FinancialAnalysis analysis = new FinancialAnalysis(expenditureManager);
+    static EventBus eventBus = new EventBus();
+    static BudgetManager budgetManager = new BudgetManager();
+
+    static {
+        // One shared bus so any component can observe every manager's mutations
+        expenditureManager.setEventBus(eventBus);
+        bankManager.setEventBus(eventBus);
+        categoryManager.setEventBus(eventBus);
+        receiptManager.setEventBus(eventBus);
+        budgetManager.setEventBus(eventBus);
+    }
+
+    static FinancialAnalysis analysis; // built once expenditures are loaded
     static AccountGraph accountGraph = new AccountGraph();
     static ReportGenerator reportGenerator = new ReportGenerator();
 
@@ -42,6 +71,7 @@ public class MainApp {
     private static final String WARNING_PREFIX = "⚠️ WARNING: ";
     private static final String SUCCESS_PREFIX = "✅ SUCCESS: ";
     private static final String INFO_PREFIX = "ℹ️ INFO: ";
+    private static final int TOP_CATEGORY_COUNT = 10;
 
     /**
      * Main method - Entry point of the application
@@ -51,11 +81,21 @@ public class MainApp {
     public static void main(String[] args) throws ParseException {
         displayWelcomeMessage();
 
-        // Load data from files
+        // Load data from files (ledger first so accounts keep their history)
+        bankManager.getLedger().loadFromFile("ledger.txt");
         bankManager.loadFromFile("accounts.txt");
         expenditureManager.loadFromFile("expenditures.txt");
+        for (Expenditure exp : expenditureManager.getAll()) {
+            bankManager.recordExpenditure(exp); // build per-account spend totals
+        }
+        bankManager.getLedger().seedFromExpenditures(expenditureManager.getAll()); // first run: dated history
         categoryManager.loadFromFile("categories.txt");
         receiptManager.loadFromFile("receipts.txt");
+        budgetManager.loadFromFile("budgets.txt");
+        budgetManager.track(expenditureManager);
+        eventBus.subscribe(ManagerEvents.BudgetThresholdCrossed.class, event ->
+                System.out.println(WARNING_PREFIX + describeBudgetAlert(event)));
+        analysis = new FinancialAnalysis(expenditureManager, "cube.txt", "expenditures.txt");
 
         // Main loop
         while (true) {
@@ -66,9 +106,12 @@ public class MainApp {
                 if (choice == 0) {
                     // Save before exiting
                     bankManager.saveToFile("accounts.txt");
+                    bankManager.getLedger().saveToFile("ledger.txt");
                     expenditureManager.saveToFile("expenditures.txt");
                     categoryManager.saveToFile("categories.txt");
                     receiptManager.saveToFile("receipts.txt");
+                    budgetManager.saveToFile("budgets.txt");
+                    analysis.getCube().saveToFile("cube.txt", "expenditures.txt");
 
                     System.out.println("✅ All data saved. Exiting...");
                     break;
@@ -118,6 +161,7 @@ public class MainApp {
         System.out.println("   14. Add Account Transfer");
         System.out.println("   15. View Account Relationship Graph");
         System.out.println("   16. Show Reachable Accounts");
+        System.out.println("   21. View Balance on Date");
 
         // Category Management
         System.out.println("\n📂 CATEGORY MANAGEMENT:");
@@ -129,6 +173,8 @@ public class MainApp {
         System.out.println("   8. Upload Receipt");
         System.out.println("   9. Review Next Receipt");
         System.out.println("   10. View Receipt Queue Size");
+        System.out.println("   20. Auto-Validate Receipt Backlog");
+        System.out.println("   28. Set Receipt Review Order");
 
         // Analysis & Reports
         System.out.println("\n📈 ANALYSIS & REPORTS:");
@@ -136,12 +182,21 @@ public class MainApp {
         System.out.println("   12. Forecast Profitability");
         System.out.println("   13. Show Top Spending Categories");
         System.out.println("   19. Generate System Report");
+        System.out.println("   22. Show Spending Dashboard");
+        System.out.println("   23. View Anomaly Alerts");
+        System.out.println("   24. Pivot Spending");
+
+        // Budgets
+        System.out.println("\n💰 BUDGETS:");
+        System.out.println("   25. Set Budget Limit");
+        System.out.println("   26. View Budgets");
+        System.out.println("   27. Import Expenditures from File");
 
         System.out.println("\n❌ EXIT:");
         System.out.println("   0. Exit Application");
 
         System.out.println(MENU_SEPARATOR);
-        System.out.print("👉 Enter your choice (0-19): ");
+        System.out.print("👉 Enter your choice (0-28): ");
     }
 
     /**
@@ -153,13 +208,13 @@ public class MainApp {
                 int choice = scanner.nextInt();
                 scanner.nextLine(); // Consume leftover newline
 
-                if (choice >= 0 && choice <= 19) {
+                if (choice >= 0 && choice <= 28) {
                     return choice;
                 } else {
-                    System.out.print(WARNING_PREFIX + "Please enter a number between 0 and 19: ");
+                    System.out.print(WARNING_PREFIX + "Please enter a number between 0 and 28: ");
                 }
             } catch (InputMismatchException e) {
-                System.out.print(ERROR_PREFIX + "Please enter a valid number (0-19): ");
+                System.out.print(ERROR_PREFIX + "Please enter a valid number (0-28): ");
                 scanner.nextLine(); // Clear invalid input
             }
         }
@@ -227,6 +282,33 @@ public class MainApp {
             case 19:
                 reportGenerator.generateReport();
                 break;
+            case 20:
+                validateReceiptBacklog();
+                break;
+            case 21:
+                showBalanceOnDate();
+                break;
+            case 22:
+                showDashboard();
+                break;
+            case 23:
+                showAnomalyAlerts();
+                break;
+            case 24:
+                pivotSpending();
+                break;
+            case 25:
+                setBudgetLimit();
+                break;
+            case 26:
+                viewBudgets();
+                break;
+            case 27:
+                importExpenditures();
+                break;
+            case 28:
+                setReceiptReviewOrder();
+                break;
             case 0:
                 exitApplication();
                 break;
@@ -267,13 +349,6 @@ public class MainApp {
             String accountId = getValidString("🏦 Enter Bank Account ID: ",
                     "Bank Account ID cannot be empty!");
 
-            // Check if account exists and has sufficient funds
-            if (!bankManager.withdrawFromAccount(accountId, amount)) {
-                System.out.println(ERROR_PREFIX + "Insufficient funds or account not found.");
-                System.out.println(INFO_PREFIX + "Please check your account ID and balance.");
-                return;
-            }
-
             // Get receipt path (optional)
             System.out.print("🧾 Enter Receipt Path (optional, press Enter to skip): ");
             String receiptpath = scanner.nextLine().trim();
@@ -284,16 +359,15 @@ public class MainApp {
                 System.out.println(INFO_PREFIX + "Using default receipt path: " + receiptpath);
             }
 
-            // Create and add expenditure
+            // Withdraw, record and link the expenditure as one transaction
             Expenditure exp = new Expenditure(code, amount, date, phase, category, accountId, receiptpath);
-            expenditureManager.addExpenditure(exp);
-            receiptManager.saveReceipt(receiptpath, exp.toString());
-
-            // Link expenditure to bank account
-            BankAccount acc = bankManager.getAccount(accountId);
-            if (acc != null) {
-                acc.addExpenditure(code);
+            Transaction tx = new Transaction().expenditure(exp);
+            if (!transactionManager.execute(tx)) {
+                System.out.println(ERROR_PREFIX + tx.getFailureReason());
+                System.out.println(INFO_PREFIX + "Please check your account ID, balance and expenditure code.");
+                return;
             }
+            receiptManager.saveReceipt(receiptpath, exp.toString());
 
             System.out.println(SUCCESS_PREFIX + "Expenditure recorded successfully!");
             System.out.println(INFO_PREFIX + "Amount GHS " + amount + " withdrawn from account " + accountId);
@@ -370,6 +444,7 @@ public class MainApp {
             System.out.println("-".repeat(50));
             for (BankAccount acc : accounts) {
                 System.out.println(acc);
+                System.out.println("   💸 " + acc.getSpendSummary());
             }
         }
     }
@@ -433,9 +508,17 @@ public class MainApp {
             return;
         }
 
+        double amount = getValidAmount("💰 Enter Amount to Transfer (GHS): ");
+
+        Transaction tx = new Transaction().transfer(from, to, amount);
+        if (!transactionManager.execute(tx)) {
+            System.out.println(ERROR_PREFIX + tx.getFailureReason());
+            return;
+        }
+
         accountGraph.addTransfer(from, to);
-        System.out.println(SUCCESS_PREFIX + "Transfer relationship recorded successfully!");
-        System.out.println(INFO_PREFIX + "Transfer: " + from + " → " + to);
+        System.out.println(SUCCESS_PREFIX + "Transfer completed successfully!");
+        System.out.println(INFO_PREFIX + "Transfer: " + from + " → " + to + ", GHS " + amount);
     }
 
     /**
@@ -462,6 +545,28 @@ public class MainApp {
         }
     }
 
+    /**
+     * Show an account's balance at the end of a given date
+     */
+    private static void showBalanceOnDate() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("🕰️ BALANCE ON DATE");
+        System.out.println("=".repeat(30));
+
+        String id = getValidString("🆔 Enter Bank Account ID: ",
+                "Bank Account ID cannot be empty!");
+        if (!bankManager.accountExists(id)) {
+            System.out.println(ERROR_PREFIX + "Account not found: " + id);
+            return;
+        }
+
+        Date date = getValidDate("📅 Enter Date (dd-MM-yyyy): ");
+        Date endOfDay = new Date(date.getTime() + 24L * 60 * 60 * 1000 - 1);
+        double balance = bankManager.getLedger().balanceAsOf(id, endOfDay);
+        System.out.println(INFO_PREFIX + "Balance of " + id + " on " + dateFormat.format(date)
+                + ": GHS " + String.format("%.2f", balance));
+    }
+
     /**
      * Show monthly burn rate
      */
@@ -483,6 +588,225 @@ public class MainApp {
         }
     }
 
+    /**
+     * Show headline spending metrics computed in one pass
+     */
+    private static void showDashboard() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("🧮 SPENDING DASHBOARD");
+        System.out.println("=".repeat(30));
+
+        Dashboard dashboard = analysis.dashboard();
+        if (dashboard.getCount() == 0) {
+            System.out.println(INFO_PREFIX + "No expenditure data available.");
+            System.out.println("💡 Add some expenditures first using option 1.");
+            return;
+        }
+        System.out.println(INFO_PREFIX + dashboard.getCount() + " expenditure(s), total GHS "
+                + String.format("%.2f", dashboard.getTotal()));
+        System.out.println("   Min: GHS " + String.format("%.2f", dashboard.getMin())
+                + " | Max: GHS " + String.format("%.2f", dashboard.getMax())
+                + " | Mean: GHS " + String.format("%.2f", dashboard.getMean()));
+        System.out.println("   Median: GHS " + String.format("%.2f", dashboard.quantile(0.5))
+                + " | P95: GHS " + String.format("%.2f", dashboard.quantile(0.95))
+                + " | P99: GHS " + String.format("%.2f", dashboard.quantile(0.99)));
+        SlidingWindowSpend windows = analysis.getWindows();
+        StringBuilder recent = new StringBuilder("   Recent:");
+        for (int days : windows.getWindows()) {
+            recent.append(" last ").append(days).append(" days GHS ").append(String.format("%.2f", windows.total(days))).append(" |");
+        }
+        recent.setLength(recent.length() - 2);
+        System.out.println(recent);
+        DistinctCounts distinct = analysis.getDistinctCounts();
+        System.out.println("   Distinct (approx.): " + distinct.distinctCodes() + " codes | "
+                + distinct.distinctCategories() + " categories | " + distinct.distinctAccounts() + " accounts");
+        printTotals("📅 By month:", dashboard.monthlyTotals());
+        printTotals("📂 By category:", dashboard.categoryTotals());
+        printTotals("🏗️ By phase:", dashboard.phaseTotals());
+        printTotals("🏦 By account:", dashboard.accountTotals());
+    }
+
+    private static void printTotals(String heading, MyMap<String, Double> totals) {
+        System.out.println("-".repeat(40));
+        System.out.println(heading);
+        for (MyMap.Entry<String, Double> entry : totals.entrySet()) {
+            System.out.println("   " + entry.getKey() + ": GHS " + String.format("%.2f", entry.getValue()));
+        }
+    }
+
+    /**
+     * Show the most recent anomaly alerts, newest first
+     */
+    private static void showAnomalyAlerts() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("🚨 ANOMALY ALERTS");
+        System.out.println("=".repeat(30));
+
+        AnomalyDetector detector = analysis.getAnomalyDetector();
+        MyList<AnomalyDetector.Alert> alerts = detector.recentAlerts();
+        if (alerts.isEmpty()) {
+            System.out.println(INFO_PREFIX + "No anomalies detected.");
+            return;
+        }
+        System.out.println(INFO_PREFIX + "Showing " + alerts.size() + " of " + detector.getAlertCount() + " alert(s):");
+        System.out.println("-".repeat(40));
+        for (AnomalyDetector.Alert alert : alerts) {
+            System.out.println("🚨 " + alert);
+        }
+    }
+
+    /**
+     * Group spending by one dimension, optionally filtered on the others
+     */
+    private static void pivotSpending() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("🧊 PIVOT SPENDING");
+        System.out.println("=".repeat(30));
+
+        SpendCube.Dimension[] dimensions = SpendCube.Dimension.values();
+        for (int i = 0; i < dimensions.length; i++) {
+            System.out.println("   " + (i + 1) + ". " + dimensions[i].name().toLowerCase());
+        }
+        int choice = getValidInt("👉 Group by (1-" + dimensions.length + "): ", 1, dimensions.length);
+        SpendCube.Dimension groupBy = dimensions[choice - 1];
+
+        SpendCube.Slice slice = new SpendCube.Slice();
+        for (SpendCube.Dimension dimension : dimensions) {
+            if (dimension == groupBy) continue;
+            String hint = dimension == SpendCube.Dimension.MONTH ? " (MM-yyyy)" : "";
+            System.out.print("🔎 Filter by " + dimension.name().toLowerCase() + hint + " (blank for all): ");
+            String value = scanner.nextLine().trim();
+            if (!value.isEmpty()) {
+                slice = slice.drillDown(dimension, value);
+            }
+        }
+
+        MyMap<String, Double> totals;
+        try {
+            totals = analysis.getCube().rollUp(slice, groupBy);
+        } catch (IllegalArgumentException e) {
+            System.out.println(ERROR_PREFIX + "Months must be entered as MM-yyyy.");
+            return;
+        }
+        if (totals.isEmpty()) {
+            System.out.println(INFO_PREFIX + "No matching expenditures.");
+            return;
+        }
+        System.out.println("-".repeat(40));
+        for (MyMap.Entry<String, Double> entry : totals.entrySet()) {
+            System.out.println("🧊 " + entry.getKey() + ": GHS " + String.format("%.2f", entry.getValue()));
+        }
+    }
+
+    /**
+     * Set or clear a phase or category budget
+     */
+    private static void setBudgetLimit() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("💰 SET BUDGET LIMIT");
+        System.out.println("=".repeat(30));
+
+        System.out.println("   1. Phase");
+        System.out.println("   2. Category");
+        BudgetManager.Scope scope = getValidInt("👉 Budget applies to (1-2): ", 1, 2) == 1
+                ? BudgetManager.Scope.PHASE : BudgetManager.Scope.CATEGORY;
+        String name = getValidString("🏷️ Enter " + scope.name().toLowerCase() + " name: ",
+                "Name cannot be empty!");
+
+        if (!Double.isNaN(budgetManager.getLimit(scope, name))
+                && getValidYesNo("🗑️ Remove the existing limit instead? (y/n): ").startsWith("y")) {
+            budgetManager.removeLimit(scope, name);
+            System.out.println(SUCCESS_PREFIX + "Budget for '" + name + "' removed.");
+            return;
+        }
+        double limit = getValidAmount("💰 Enter Limit (GHS): ");
+        if (!budgetManager.setLimit(scope, name, limit)) {
+            System.out.println(ERROR_PREFIX + "Budget limit must be positive.");
+            return;
+        }
+        System.out.println(SUCCESS_PREFIX + "Budget for '" + name + "' set to GHS " + String.format("%.2f", limit)
+                + " (GHS " + String.format("%.2f", budgetManager.getConsumed(scope, name)) + " spent so far).");
+    }
+
+    /**
+     * Show every budget with its consumption
+     */
+    private static void viewBudgets() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("💰 BUDGETS");
+        System.out.println("=".repeat(30));
+
+        boolean any = false;
+        for (BudgetManager.Scope scope : BudgetManager.Scope.values()) {
+            for (String name : budgetManager.budgetedNames(scope)) {
+                double limit = budgetManager.getLimit(scope, name);
+                double consumed = budgetManager.getConsumed(scope, name);
+                System.out.println((consumed >= limit ? "🔴 " : "🟢 ") + scope.name().toLowerCase() + " " + name
+                        + ": GHS " + String.format("%.2f", consumed) + " of " + String.format("%.2f", limit)
+                        + " (" + String.format("%.0f", 100 * consumed / limit) + "%)");
+                any = true;
+            }
+        }
+        if (!any) {
+            System.out.println(INFO_PREFIX + "No budgets set.");
+            System.out.println("💡 Set one using option 25.");
+        }
+    }
+
+    /**
+     * Post every expenditure in a file, checking the whole batch against
+     * the budgets first
+     */
+    private static void importExpenditures() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("📥 IMPORT EXPENDITURES");
+        System.out.println("=".repeat(30));
+
+        String path = getValidString("📄 Enter file path: ", "File path cannot be empty!");
+        MyList<Expenditure> batch = ExpenditureManager.readFromFile(path);
+        if (batch.isEmpty()) {
+            System.out.println(INFO_PREFIX + "No expenditures found in " + path + ".");
+            return;
+        }
+
+        MyList<Expenditure> fresh = new MyArrayList<>();
+        for (Expenditure exp : batch) {
+            if (expenditureManager.getByCode(exp.getCode()) != null) {
+                System.out.println(WARNING_PREFIX + "Skipping existing expenditure " + exp.getCode() + ".");
+            } else {
+                fresh.add(exp);
+            }
+        }
+
+        MyList<String> warnings = budgetManager.checkBatch(fresh);
+        if (!warnings.isEmpty()) {
+            for (String warning : warnings) {
+                System.out.println(WARNING_PREFIX + warning);
+            }
+            if (!getValidYesNo("❓ Import anyway? (y/n): ").startsWith("y")) {
+                System.out.println(INFO_PREFIX + "Import cancelled.");
+                return;
+            }
+        }
+
+        int imported = 0;
+        for (Expenditure exp : fresh) {
+            Transaction tx = new Transaction().expenditure(exp);
+            if (transactionManager.execute(tx)) {
+                imported++;
+            } else {
+                System.out.println(ERROR_PREFIX + exp.getCode() + ": " + tx.getFailureReason());
+            }
+        }
+        System.out.println(SUCCESS_PREFIX + "Imported " + imported + " of " + batch.size() + " expenditure(s).");
+    }
+
+    private static String describeBudgetAlert(ManagerEvents.BudgetThresholdCrossed event) {
+        return (event.getScope() == BudgetManager.Scope.PHASE ? "Phase" : "Category") + " '" + event.getName()
+                + "' has reached " + String.format("%.0f", 100 * event.getThreshold()) + "% of its budget (GHS "
+                + String.format("%.2f", event.getConsumed()) + " of " + String.format("%.2f", event.getLimit()) + ").";
+    }
+
     /**
      * Show top spending categories
      */
@@ -491,15 +815,18 @@ public class MainApp {
         System.out.println("📊 TOP SPENDING CATEGORIES");
         System.out.println("=".repeat(30));
 
-        MyMap<String, Double> topCats = analysis.topCategories();
+        MyList<MyMap.Entry<String, Double>> topCats = analysis.topCategories(TOP_CATEGORY_COUNT);
         if (topCats.isEmpty()) {
             System.out.println(INFO_PREFIX + "No expenditure data available.");
             System.out.println("💡 Add some expenditures first using option 1.");
         } else {
             System.out.println(INFO_PREFIX + "Highest spending categories (GHS):");
             System.out.println("-".repeat(40));
-            for (MyMap.Entry<String, Double> entry : topCats.entrySet()) {
-                System.out.println("📊 " + entry.getKey() + ": GHS " + String.format("%.2f", entry.getValue()));
+            SpendDistributions distributions = analysis.getDistributions();
+            for (MyMap.Entry<String, Double> entry : topCats) {
+                System.out.println("📊 " + entry.getKey() + ": GHS " + String.format("%.2f", entry.getValue())
+                        + " (median " + String.format("%.2f", distributions.categoryQuantile(entry.getKey(), 0.5))
+                        + ", p95 " + String.format("%.2f", distributions.categoryQuantile(entry.getKey(), 0.95)) + ")");
             }
         }
     }
@@ -600,6 +927,28 @@ public class MainApp {
         }
     }
 
+    /**
+     * Get a whole number within [min, max]
+     */
+    private static int getValidInt(String prompt, int min, int max) {
+        while (true) {
+            try {
+                System.out.print(prompt);
+                int value = scanner.nextInt();
+                scanner.nextLine();
+
+                if (value >= min && value <= max) {
+                    return value;
+                } else {
+                    System.out.println(WARNING_PREFIX + "Please enter a number between " + min + " and " + max + ".");
+                }
+            } catch (InputMismatchException e) {
+                System.out.println(ERROR_PREFIX + "Please enter a valid number (" + min + "-" + max + ").");
+                scanner.nextLine();
+            }
+        }
+    }
+
     /**
      * Search by date range
      */
@@ -618,6 +967,10 @@ public class MainApp {
 
             MyList<Expenditure> result = expenditureManager.searchByDateRange(start, end);
             showSearchResults(result, "Date Range: " + dateFormat.format(start) + " to " + dateFormat.format(end));
+            if (!result.isEmpty()) {
+                System.out.println(INFO_PREFIX + "Total spent in range: GHS "
+                        + String.format("%.2f", analysis.getColumns().totalBetween(start, end)));
+            }
 
         } catch (Exception e) {
             System.out.println(ERROR_PREFIX + "Error searching by date range: " + e.getMessage());
@@ -636,6 +989,13 @@ public class MainApp {
 
         MyList<Expenditure> result = expenditureManager.searchByCategory(category);
         showSearchResults(result, "Category: " + category);
+        if (!result.isEmpty()) {
+            ExpenditureColumns columns = analysis.getColumns();
+            System.out.println(INFO_PREFIX + "Total GHS "
+                    + String.format("%.2f", columns.categoryTotals().getOrDefault(category.toLowerCase(), 0.0))
+                    + " | Smallest GHS " + String.format("%.2f", columns.minInCategory(category))
+                    + " | Largest GHS " + String.format("%.2f", columns.maxInCategory(category)));
+        }
     }
 
     /**
@@ -682,7 +1042,11 @@ public class MainApp {
         String path = getValidString("📁 Enter receipt file path (e.g., receipts/12345.jpg): ",
                 "Receipt file path cannot be empty!");
 
-        receiptManager.uploadReceipt(path);
+        if (!receiptManager.uploadReceipt(path)) {
+            System.out.println(WARNING_PREFIX + "An identical receipt is already queued or reviewed.");
+            System.out.println(INFO_PREFIX + "Duplicate receipt skipped: " + path);
+            return;
+        }
         System.out.println(SUCCESS_PREFIX + "Receipt uploaded successfully!");
         System.out.println(INFO_PREFIX + "Receipt added to review queue: " + path);
     }
@@ -715,6 +1079,75 @@ public class MainApp {
         }
     }
 
+    /**
+     * Choose whether receipts are reviewed in order of submission or by priority
+     */
+    private static void setReceiptReviewOrder() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("🔀 RECEIPT REVIEW ORDER");
+        System.out.println("=".repeat(30));
+
+        System.out.println("   1. Order of submission");
+        System.out.println("   2. Largest amount first");
+        System.out.println("   3. Oldest expenditure first");
+        System.out.println("   4. Accounts with anomaly alerts first");
+        int choice = getValidInt("👉 Review order (1-4): ", 1, 4);
+
+        ReceiptScorer scorer = null;
+        if (choice == 2) {
+            scorer = ReceiptScorer.byAmount();
+        } else if (choice == 3) {
+            scorer = ReceiptScorer.byAge();
+        } else if (choice == 4) {
+            // Risk is the number of recent anomaly alerts raised on the account
+            MyMap<String, Double> alertsByAccount = new MyHashMap<>();
+            for (AnomalyDetector.Alert alert : analysis.getAnomalyDetector().recentAlerts()) {
+                Expenditure exp = expenditureManager.getByCode(alert.getCode());
+                if (exp != null) {
+                    alertsByAccount.put(exp.getAccountId(), alertsByAccount.getOrDefault(exp.getAccountId(), 0.0) + 1);
+                }
+            }
+            scorer = ReceiptScorer.byAccountRisk(alertsByAccount);
+        }
+        receiptManager.setScorer(scorer);
+        System.out.println(SUCCESS_PREFIX + "Review order updated; " + receiptManager.getQueueSize()
+                + " pending receipt(s) re-queued.");
+    }
+
+    /**
+     * Validate all pending receipts in parallel against recorded expenditures
+     */
+    private static void validateReceiptBacklog() {
+        System.out.println("\n" + "=".repeat(30));
+        System.out.println("🤖 AUTO-VALIDATE RECEIPTS");
+        System.out.println("=".repeat(30));
+
+        if (receiptManager.isEmpty()) {
+            System.out.println(INFO_PREFIX + "No receipts to validate.");
+            return;
+        }
+
+        int pending = receiptManager.getQueueSize();
+        int workers = Runtime.getRuntime().availableProcessors();
+        ReceiptValidationPipeline pipeline = new ReceiptValidationPipeline(expenditureManager, workers, 1024);
+        try {
+            MyList<String> failures = pipeline.validateBacklog(receiptManager);
+            System.out.println(SUCCESS_PREFIX + (pending - failures.size()) + " of " + pending
+                    + " receipt(s) validated and marked as reviewed.");
+            if (!failures.isEmpty()) {
+                System.out.println(WARNING_PREFIX + failures.size() + " receipt(s) returned for manual review:");
+                for (String failure : failures) {
+                    System.out.println("- " + failure);
+                }
+            }
+            System.out.println("-".repeat(40));
+            System.out.println(pipeline.metricsReport());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println(ERROR_PREFIX + "Validation interrupted.");
+        }
+    }
+
     /**
      * Show search results
      */
@@ -0,0 +1,281 @@
+package managers;
+
+import models.Expenditure;
+import utils.FileStorage;
+import utils.MyArrayList;
+import utils.MyConcurrentHashMap;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+import utils.Money;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Append-only per-account ledger of balance movements.
+ * Every CHECKPOINT_INTERVAL events a balance snapshot is taken, so the
+ * balance at any past time is found by binary search over the snapshots
+ * plus a replay of at most one interval of events.
+ *
+ * Events are dated by when the money moved: live movements at the time they
+ * are recorded, whatever date their expenditure carries. Only debits seeded
+ * from existing expenditures on a first run use the expenditure date, as
+ * no posting time is known for them.
+ */
+public class AccountLedger {
+
+    public static final int CHECKPOINT_INTERVAL = 64;
+
+    public static final char OPEN = 'O';
+    public static final char DEBIT = 'D';
+    public static final char CREDIT = 'C';
+
+    // One account's event log and checkpoints, in posting order
+    private static final class History {
+        long[] times = new long[16];
+        long[] deltas = new long[16];
+        char[] kinds = new char[16];
+        int size;
+        long balance;
+
+        long[] checkpointTimes = new long[4];
+        long[] checkpointBalances = new long[4];
+        int checkpoints;
+
+        boolean openedThisRun; // only an opening balance stamped at startup, no saved history
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long lastTime() {
+            return size == 0 ? Long.MIN_VALUE : times[size - 1];
+        }
+
+        /**
+         * @return false if the event is earlier than the last one; the log stays ordered by time
+         */
+        synchronized boolean append(long time, char kind, long delta) {
+            if (size > 0 && time < times[size - 1]) {
+                return false;
+            }
+            if (size == times.length) {
+                times = grow(times);
+                deltas = grow(deltas);
+                char[] newKinds = new char[kinds.length * 2];
+                System.arraycopy(kinds, 0, newKinds, 0, size);
+                kinds = newKinds;
+            }
+            times[size] = time;
+            deltas[size] = delta;
+            kinds[size] = kind;
+            size++;
+            balance += delta;
+
+            if (size % CHECKPOINT_INTERVAL == 0) {
+                if (checkpoints == checkpointTimes.length) {
+                    checkpointTimes = grow(checkpointTimes);
+                    checkpointBalances = grow(checkpointBalances);
+                }
+                checkpointTimes[checkpoints] = time;
+                checkpointBalances[checkpoints] = balance;
+                checkpoints++;
+            }
+            return true;
+        }
+
+        synchronized long balanceAt(long time) {
+            // Last checkpoint taken at or before the requested time
+            int low = 0;
+            int high = checkpoints - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (checkpointTimes[mid] <= time) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            long result = found < 0 ? 0 : checkpointBalances[found];
+            int i = found < 0 ? 0 : (found + 1) * CHECKPOINT_INTERVAL;
+            while (i < size && times[i] <= time) {
+                result += deltas[i++];
+            }
+            return result;
+        }
+
+        private static long[] grow(long[] array) {
+            long[] grown = new long[array.length * 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+    }
+
+    private final MyMap<String, History> histories = new MyConcurrentHashMap<>();
+
+    /**
+     * Records an account's opening balance if it has no history yet.
+     */
+    public void open(String accountId, long balanceMinor) {
+        History created = new History();
+        if (histories.putIfAbsent(accountId, created) == null) {
+            created.append(System.currentTimeMillis(), OPEN, balanceMinor);
+            created.openedThisRun = true;
+        }
+    }
+
+    /**
+     * Rebuilds the history of accounts opened this run without saved ledger
+     * history from their dated expenditures: the opening balance is moved
+     * to the earliest expenditure date and raised by everything spent since,
+     * then each expenditure is replayed as a debit on its date. The current
+     * balance is unchanged, and balances before the first run become
+     * available. Accounts with saved history are left alone.
+     */
+    public void seedFromExpenditures(MyList<Expenditure> expenditures) {
+        MyMap<String, MyList<Expenditure>> byAccount = new MyHashMap<>();
+        for (int i = 0; i < expenditures.size(); i++) {
+            Expenditure exp = expenditures.get(i);
+            MyList<Expenditure> list = byAccount.get(exp.getAccountId());
+            if (list == null) {
+                list = new MyArrayList<>();
+                byAccount.put(exp.getAccountId(), list);
+            }
+            list.add(exp);
+        }
+
+        for (MyMap.Entry<String, MyList<Expenditure>> entry : byAccount.entrySet()) {
+            History history = histories.get(entry.getKey());
+            if (history == null || !history.openedThisRun || history.size() != 1) {
+                continue;
+            }
+            Expenditure[] dated = new Expenditure[entry.getValue().size()];
+            long spent = 0;
+            for (int i = 0; i < dated.length; i++) {
+                dated[i] = entry.getValue().get(i);
+                spent += Money.toMinor(dated[i].getAmount());
+            }
+            Arrays.sort(dated, Comparator.comparingLong(exp -> exp.getDate().getTime()));
+
+            History seeded = new History();
+            seeded.append(dated[0].getDate().getTime(), OPEN, history.balance + spent);
+            for (Expenditure exp : dated) {
+                seeded.append(exp.getDate().getTime(), DEBIT, -Money.toMinor(exp.getAmount()));
+            }
+            histories.put(entry.getKey(), seeded);
+        }
+    }
+
+    /**
+     * Appends a movement at the current time. Positive deltas are credits.
+     * A backdated expenditure is still stamped now. If earlier events are
+     * dated later (e.g. seeded future-dated expenditures), the movement is
+     * stamped at the latest event time instead.
+     */
+    public void record(String accountId, long deltaMinor) {
+        History history = history(accountId);
+        synchronized (history) {
+            history.openedThisRun = false;
+            history.append(Math.max(System.currentTimeMillis(), history.lastTime()),
+                    deltaMinor < 0 ? DEBIT : CREDIT, deltaMinor);
+        }
+    }
+
+    private History history(String accountId) {
+        History history = histories.get(accountId);
+        if (history == null) {
+            History created = new History();
+            history = histories.putIfAbsent(accountId, created);
+            if (history == null) {
+                history = created;
+            }
+        }
+        return history;
+    }
+
+    public boolean hasHistory(String accountId) {
+        return histories.containsKey(accountId);
+    }
+
+    /**
+     * Returns the balance at the end of the given date's timestamp, in GHS.
+     * Returns 0 for times before the account's first recorded event and
+     * NaN for unknown accounts.
+     */
+    public double balanceAsOf(String accountId, Date date) {
+        History history = histories.get(accountId);
+        if (history == null) {
+            return Double.NaN;
+        }
+        return Money.toMajor(history.balanceAt(date.getTime()));
+    }
+
+    /**
+     * Returns the number of recorded events for an account.
+     */
+    public int eventCount(String accountId) {
+        History history = histories.get(accountId);
+        return history == null ? 0 : history.size();
+    }
+
+    /**
+     * Saves every event as "accountId,time,kind,deltaMinor".
+     */
+    public void saveToFile(String filepath) {
+        MyList<String> lines = new MyArrayList<>();
+        for (MyMap.Entry<String, History> entry : histories.entrySet()) {
+            History history = entry.getValue();
+            synchronized (history) {
+                for (int i = 0; i < history.size; i++) {
+                    lines.add(entry.getKey() + "," + history.times[i] + "," + history.kinds[i] + "," + history.deltas[i]);
+                }
+            }
+        }
+        FileStorage.writeLines(filepath, lines);
+    }
+
+    /**
+     * Loads events saved by saveToFile; checkpoints are rebuilt as events are
+     * replayed. Lines with an unknown kind, a delta of the wrong sign or a
+     * time earlier than the account's previous event are skipped.
+     */
+    public void loadFromFile(String filepath) {
+        if (!new File(filepath).isFile()) {
+            return; // first run: no history yet
+        }
+        for (String line : FileStorage.readLines(filepath)) {
+            if (line.isBlank()) continue;
+            String[] parts = line.split(",");
+            if (parts.length < 4 || parts[2].trim().length() != 1) {
+                System.out.println("⚠️ Skipping invalid ledger line: " + line);
+                continue;
+            }
+            try {
+                long time = Long.parseLong(parts[1].trim());
+                char kind = parts[2].trim().charAt(0);
+                long delta = Long.parseLong(parts[3].trim());
+                if (!validKind(kind, delta)) {
+                    System.out.println("⚠️ Skipping invalid ledger line (kind): " + line);
+                } else if (!history(parts[0].trim()).append(time, kind, delta)) {
+                    System.out.println("⚠️ Skipping out-of-order ledger line: " + line);
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("⚠️ Skipping invalid ledger line: " + line);
+            }
+        }
+    }
+
+    private static boolean validKind(char kind, long delta) {
+        switch (kind) {
+            case OPEN: return true;
+            case DEBIT: return delta <= 0;
+            case CREDIT: return delta >= 0;
+            default: return false;
+        }
+    }
+}
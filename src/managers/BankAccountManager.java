@@ -1,11 +1,14 @@
 package managers;
 
 import models.BankAccount;
+import models.Expenditure;
 import utils.MyList;
 import utils.MyMap;
 import utils.MyHashMap;
+import utils.MyConcurrentHashMap;
 import utils.FileStorage;
 import utils.MyArrayList;
+import utils.Money;
 
 /**
  * Manages all bank accounts including creation, retrieval, and balance updates.
@@ -13,9 +16,19 @@ import utils.MyArrayList;
 public class BankAccountManager {
 
     private final MyMap<String, BankAccount> accounts;
+    private final AccountLedger ledger = new AccountLedger();
+    private EventBus eventBus = new EventBus();
 
     public BankAccountManager() {
-        this.accounts = new MyHashMap<>();
+        this(false);
+    }
+
+    /**
+     * @param concurrent true to back the accounts with a thread-safe map,
+     *                   for multi-threaded ingestion or server use
+     */
+    public BankAccountManager(boolean concurrent) {
+        this.accounts = concurrent ? new MyConcurrentHashMap<>() : new MyHashMap<>();
     }
 
     /**
@@ -23,6 +36,25 @@ public class BankAccountManager {
      */
     public void addAccount(BankAccount account) {
         accounts.put(account.getAccountId(), account);
+        ledger.open(account.getAccountId(), account.getBalanceMinor());
+    }
+
+    /**
+     * Replaces the bus that balance changes are published on.
+     */
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Returns the ledger of balance movements for all accounts.
+     */
+    public AccountLedger getLedger() {
+        return ledger;
     }
 
     /**
@@ -45,11 +77,13 @@ public class BankAccountManager {
 
     /**
      * Withdraws money from the specified bank account if balance is sufficient.
+     * Safe to call concurrently; the balance never goes negative.
      */
     public boolean withdrawFromAccount(String accountId, double amount) {
         BankAccount acc = getAccount(accountId);
-        if (acc != null && acc.getBalance() >= amount) {
-            acc.setBalance(acc.getBalance() - amount);
+        long minor = Money.toMinor(amount);
+        if (acc != null && acc.tryWithdraw(minor)) {
+            recordMovement(acc, -minor);
             return true;
         }
         return false;
@@ -57,16 +91,44 @@ public class BankAccountManager {
 
     /**
      * Deposits money to a specified bank account.
+     * Safe to call concurrently.
      */
     public boolean depositToAccount(String accountId, double amount) {
         BankAccount acc = getAccount(accountId);
-        if (acc != null) {
-            acc.setBalance(acc.getBalance() + amount);
+        long minor = Money.toMinor(amount);
+        if (acc != null && acc.deposit(minor)) {
+            recordMovement(acc, minor);
             return true;
         }
         return false;
     }
 
+    /**
+     * Records an applied balance movement in the ledger and publishes it.
+     * Used for movements applied directly on the account, e.g. by transactions.
+     */
+    void recordMovement(BankAccount acc, long deltaMinor) {
+        ledger.record(acc.getAccountId(), deltaMinor);
+        if (eventBus.hasListeners(ManagerEvents.BalanceChanged.class)) {
+            eventBus.publish(new ManagerEvents.BalanceChanged(acc.getAccountId(), deltaMinor, acc.getBalanceMinor()));
+        }
+    }
+
+    /**
+     * Links a posted or loaded expenditure to its account and updates the
+     * account's running spend totals.
+     * @return false if the account does not exist
+     */
+    public boolean recordExpenditure(Expenditure exp) {
+        BankAccount acc = getAccount(exp.getAccountId());
+        if (acc == null) {
+            return false;
+        }
+        acc.addExpenditure(exp.getCode());
+        acc.getSpendSummary().add(exp.getAmount(), exp.getDate());
+        return true;
+    }
+
     /**
      * Checks if an account exists by its ID.
      */
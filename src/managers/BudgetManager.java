@@ -0,0 +1,270 @@
+package managers;
+
+import models.Expenditure;
+import utils.FileStorage;
+import utils.MyArrayList;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Spending limits per phase and per category. Consumed totals are kept
+ * current from expenditure events, and crossing an alert threshold (by
+ * default 80% and 100% of the limit) publishes a
+ * {@link ManagerEvents.BudgetThresholdCrossed} in O(1) per posting.
+ * Names are matched case-insensitively.
+ */
+public class BudgetManager implements ExpenditureListener {
+
+    /**
+     * What a budget applies to.
+     */
+    public enum Scope { PHASE, CATEGORY }
+
+    // Limit and consumption for one phase or category
+    private static class Budget {
+        double limit = Double.NaN; // NaN: no limit set
+        double consumed;
+        int level;                 // number of thresholds reached
+
+        boolean hasLimit() {
+            return !Double.isNaN(limit);
+        }
+    }
+
+    private final double[] thresholds;
+    private final MyMap<String, Budget> phases = new MyHashMap<>();
+    private final MyMap<String, Budget> categories = new MyHashMap<>();
+    private EventBus eventBus = new EventBus();
+
+    public BudgetManager() {
+        this(0.8, 1.0);
+    }
+
+    /**
+     * @param thresholds fractions of the limit that raise an alert, e.g. 0.5, 0.9, 1.0
+     */
+    public BudgetManager(double... thresholds) {
+        if (thresholds.length == 0) {
+            throw new IllegalArgumentException("At least one threshold is required.");
+        }
+        this.thresholds = thresholds.clone();
+        Arrays.sort(this.thresholds);
+        if (this.thresholds[0] <= 0) {
+            throw new IllegalArgumentException("Thresholds must be positive.");
+        }
+    }
+
+    /**
+     * Replaces the bus that threshold alerts are published on.
+     */
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Counts the manager's existing expenditures without raising alerts,
+     * then follows new postings and removals.
+     */
+    public void track(ExpenditureManager expManager) {
+        synchronized (this) {
+            for (Expenditure exp : expManager.getAll()) {
+                apply(exp, exp.getAmount(), false);
+            }
+        }
+        expManager.addListener(this);
+    }
+
+    @Override
+    public synchronized void onExpenditureAdded(Expenditure exp) {
+        apply(exp, exp.getAmount(), true);
+    }
+
+    @Override
+    public synchronized void onExpenditureRemoved(Expenditure exp) {
+        apply(exp, -exp.getAmount(), true);
+    }
+
+    private void apply(Expenditure exp, double amount, boolean notify) {
+        consume(Scope.PHASE, exp.getPhase(), amount, notify);
+        consume(Scope.CATEGORY, exp.getCategory(), amount, notify);
+    }
+
+    private void consume(Scope scope, String name, double amount, boolean notify) {
+        String key = name.toLowerCase();
+        Budget budget = budget(scope, key);
+        budget.consumed += amount;
+        if (!budget.hasLimit()) {
+            return;
+        }
+        int level = levelOf(budget);
+        if (notify && eventBus.hasListeners(ManagerEvents.BudgetThresholdCrossed.class)) {
+            for (int i = budget.level; i < level; i++) {
+                eventBus.publish(new ManagerEvents.BudgetThresholdCrossed(scope, key, thresholds[i],
+                        budget.consumed, budget.limit));
+            }
+        }
+        budget.level = level;
+    }
+
+    // Thresholds are few, so a linear count is effectively constant time
+    private int levelOf(Budget budget) {
+        int level = 0;
+        while (level < thresholds.length && budget.consumed >= thresholds[level] * budget.limit) {
+            level++;
+        }
+        return level;
+    }
+
+    private MyMap<String, Budget> budgets(Scope scope) {
+        return scope == Scope.PHASE ? phases : categories;
+    }
+
+    // Creates the entry on first use; read paths use find() instead
+    private Budget budget(Scope scope, String key) {
+        MyMap<String, Budget> budgets = budgets(scope);
+        Budget budget = budgets.get(key);
+        if (budget == null) {
+            budget = new Budget();
+            budgets.put(key, budget);
+        }
+        return budget;
+    }
+
+    /**
+     * Sets or replaces a limit. Thresholds already passed do not alert again.
+     * @return false if the limit is not positive
+     */
+    public synchronized boolean setLimit(Scope scope, String name, double limit) {
+        if (!(limit > 0)) {
+            return false;
+        }
+        Budget budget = budget(scope, name.toLowerCase());
+        budget.limit = limit;
+        budget.level = levelOf(budget);
+        return true;
+    }
+
+    /**
+     * @return false if no limit was set
+     */
+    public synchronized boolean removeLimit(Scope scope, String name) {
+        Budget budget = find(scope, name);
+        if (budget == null || !budget.hasLimit()) {
+            return false;
+        }
+        budget.limit = Double.NaN;
+        budget.level = 0;
+        return true;
+    }
+
+    /**
+     * Returns the limit, or NaN if none is set.
+     */
+    public synchronized double getLimit(Scope scope, String name) {
+        Budget budget = find(scope, name);
+        return budget == null ? Double.NaN : budget.limit;
+    }
+
+    public synchronized double getConsumed(Scope scope, String name) {
+        Budget budget = find(scope, name);
+        return budget == null ? 0 : budget.consumed;
+    }
+
+    private Budget find(Scope scope, String name) {
+        return budgets(scope).get(name.toLowerCase());
+    }
+
+    /**
+     * Returns the names that have a limit set.
+     */
+    public synchronized MyList<String> budgetedNames(Scope scope) {
+        MyList<String> names = new MyArrayList<>();
+        for (MyMap.Entry<String, Budget> entry : budgets(scope).entrySet()) {
+            if (entry.getValue().hasLimit()) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Checks a batch of expenditures against the budgets before it is posted.
+     * The batch is totalled per phase and category in one pass, then each
+     * group is compared with its budget once.
+     * @return one message per budget the batch would push past a further threshold
+     */
+    public synchronized MyList<String> checkBatch(MyList<Expenditure> batch) {
+        MyMap<String, Double> phaseTotals = new MyHashMap<>();
+        MyMap<String, Double> categoryTotals = new MyHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Expenditure exp = batch.get(i);
+            String phase = exp.getPhase().toLowerCase();
+            String category = exp.getCategory().toLowerCase();
+            phaseTotals.put(phase, phaseTotals.getOrDefault(phase, 0.0) + exp.getAmount());
+            categoryTotals.put(category, categoryTotals.getOrDefault(category, 0.0) + exp.getAmount());
+        }
+
+        MyList<String> warnings = new MyArrayList<>();
+        checkTotals(Scope.PHASE, phases, phaseTotals, warnings);
+        checkTotals(Scope.CATEGORY, categories, categoryTotals, warnings);
+        return warnings;
+    }
+
+    private void checkTotals(Scope scope, MyMap<String, Budget> budgets, MyMap<String, Double> totals,
+                             MyList<String> warnings) {
+        for (MyMap.Entry<String, Double> entry : totals.entrySet()) {
+            Budget budget = budgets.get(entry.getKey());
+            if (budget == null || !budget.hasLimit()) {
+                continue;
+            }
+            double projected = budget.consumed + entry.getValue();
+            int reached = 0;
+            while (reached < thresholds.length && projected >= thresholds[reached] * budget.limit) {
+                reached++;
+            }
+            if (reached > budget.level) {
+                warnings.add(String.format("%s '%s' would reach %.0f%% of its GHS %.2f budget (GHS %.2f)",
+                        scope == Scope.PHASE ? "Phase" : "Category", entry.getKey(),
+                        100 * projected / budget.limit, budget.limit, projected));
+            }
+        }
+    }
+
+    /**
+     * Saves limits as "phase|category,name,limit".
+     */
+    public synchronized void saveToFile(String filepath) {
+        MyList<String> lines = new MyArrayList<>();
+        for (Scope scope : Scope.values()) {
+            for (String name : budgetedNames(scope)) {
+                lines.add(scope.name().toLowerCase() + "," + name + "," + find(scope, name).limit);
+            }
+        }
+        FileStorage.writeLines(filepath, lines);
+    }
+
+    /**
+     * Loads limits saved by saveToFile. A missing file means no budgets yet.
+     */
+    public void loadFromFile(String filepath) {
+        if (!new File(filepath).isFile()) {
+            return;
+        }
+        for (String line : FileStorage.readLines(filepath)) {
+            if (line.isBlank()) continue;
+            String[] parts = line.split(",");
+            try {
+                if (parts.length != 3 || !setLimit(Scope.valueOf(parts[0].trim().toUpperCase()),
+                        parts[1].trim(), Double.parseDouble(parts[2].trim()))) {
+                    System.out.println("⚠️ Skipping invalid budget line: " + line);
+                }
+            } catch (IllegalArgumentException e) { // bad scope or number
+                System.out.println("⚠️ Skipping invalid budget line: " + line);
+            }
+        }
+    }
+}
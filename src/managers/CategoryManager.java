@@ -2,6 +2,7 @@ package managers;
 
 import utils.FileStorage;
 import utils.MyArrayList;
+import utils.MyConcurrentHashSet;
 import utils.MyHashSet;
 import utils.MyList;
 import utils.MySet;
@@ -12,9 +13,17 @@ import utils.MySet;
 public class CategoryManager {
 
     private final MySet<String> categories;
+    private EventBus eventBus = new EventBus();
 
     public CategoryManager() {
-        categories = new MyHashSet<>();
+        this(false);
+    }
+
+    /**
+     * @param concurrent true to back the categories with a thread-safe set
+     */
+    public CategoryManager(boolean concurrent) {
+        categories = concurrent ? new MyConcurrentHashSet<>() : new MyHashSet<>();
     }
 
     /**
@@ -23,7 +32,20 @@ public class CategoryManager {
      * @return true if added, false if duplicate
      */
     public boolean addCategory(String category) {
-        return categories.add(category);
+        if (!categories.add(category)) {
+            return false;
+        }
+        if (eventBus.hasListeners(ManagerEvents.CategoryAdded.class)) {
+            eventBus.publish(new ManagerEvents.CategoryAdded(category));
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the bus that new categories are published on.
+     */
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
     }
 
     /**
@@ -71,7 +93,7 @@ public class CategoryManager {
     public void loadFromFile(String filepath) {
         for (String line : FileStorage.readLines(filepath)) {
             if (!line.isBlank()) {
-                categories.add(line.trim().toLowerCase());
+                addCategory(line.trim().toLowerCase());
             }
         }
     }
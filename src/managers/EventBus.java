@@ -0,0 +1,193 @@
+package managers;
+
+import utils.MyArrayList;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lightweight publish/subscribe bus for manager mutations (see {@link ManagerEvents}).
+ * Listeners subscribe to an exact event class. In synchronous mode events are
+ * delivered on the publishing thread before publish returns; in batched mode
+ * a background thread delivers them in batches and {@link #flush()} waits
+ * until everything published so far has been delivered. {@link #close()}
+ * delivers what is left and stops the background thread.
+ *
+ * Publishers should check {@link #hasListeners(Class)} before building an
+ * event, so unobserved mutations cost a single map lookup.
+ */
+public class EventBus {
+
+    /**
+     * Receives events of one type.
+     */
+    public interface Listener<E> {
+        void onEvent(E event);
+    }
+
+    private static final Listener<?>[] NONE = new Listener<?>[0];
+
+    // Queued by close(); the dispatcher stops when it reaches it
+    private static final Object STOP = new Object();
+
+    // Copy-on-write: replaced wholesale on subscribe, never mutated once published
+    private volatile MyMap<Class<?>, Listener<?>[]> listeners = new MyHashMap<>();
+
+    private final LinkedBlockingQueue<Object> pending;
+    private final int maxBatch;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+    private final AtomicLong published = new AtomicLong();
+    private long delivered;   // guarded by this, batched mode only
+
+    /**
+     * Creates a synchronous bus.
+     */
+    public EventBus() {
+        this.pending = null;
+        this.maxBatch = 0;
+        this.dispatcher = null;
+    }
+
+    private EventBus(int maxBatch) {
+        this.pending = new LinkedBlockingQueue<>();
+        this.maxBatch = maxBatch;
+        this.dispatcher = new Thread(this::dispatchLoop, "event-bus");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Creates a bus that delivers events asynchronously on a background
+     * thread, up to maxBatch events per wake-up.
+     */
+    public static EventBus batched(int maxBatch) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        return new EventBus(maxBatch);
+    }
+
+    public boolean isBatched() {
+        return pending != null;
+    }
+
+    public synchronized <E> void subscribe(Class<E> type, Listener<? super E> listener) {
+        MyMap<Class<?>, Listener<?>[]> copy = new MyHashMap<>();
+        for (MyMap.Entry<Class<?>, Listener<?>[]> entry : listeners.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue());
+        }
+        Listener<?>[] current = copy.getOrDefault(type, NONE);
+        Listener<?>[] updated = new Listener<?>[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = listener;
+        copy.put(type, updated);
+        listeners = copy;
+    }
+
+    public boolean hasListeners(Class<?> type) {
+        return listeners.containsKey(type);
+    }
+
+    /**
+     * Publishes an event to the listeners of its exact class.
+     * @throws IllegalStateException if a batched bus has been closed
+     */
+    public void publish(Object event) {
+        if (pending == null) {
+            deliver(event);
+            return;
+        }
+        synchronized (pending) { // no event may be queued behind STOP
+            if (closed) {
+                throw new IllegalStateException("Event bus is closed.");
+            }
+            published.incrementAndGet();
+            pending.add(event);
+        }
+    }
+
+    /**
+     * Delivers every event already published, then stops the background
+     * thread and waits for it to end. Later publishes fail. Does nothing in
+     * synchronous mode or if already closed.
+     */
+    public void close() throws InterruptedException {
+        if (pending == null) {
+            return;
+        }
+        synchronized (pending) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.add(STOP);
+        }
+        dispatcher.join();
+    }
+
+    /**
+     * Blocks until every event published so far has been delivered.
+     * Returns immediately in synchronous mode.
+     */
+    public void flush() throws InterruptedException {
+        if (pending == null) {
+            return;
+        }
+        synchronized (this) {
+            long target = published.get();
+            while (delivered < target) {
+                wait();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(Object event) {
+        Listener<?>[] targets = listeners.get(event.getClass());
+        if (targets == null) {
+            return;
+        }
+        for (Listener<?> listener : targets) {
+            ((Listener<Object>) listener).onEvent(event);
+        }
+    }
+
+    private void dispatchLoop() {
+        MyList<Object> batch = new MyArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            Object next;
+            while (batch.size() < maxBatch && (next = pending.poll()) != null) {
+                batch.add(next);
+            }
+            int count = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                Object event = batch.get(i);
+                if (event == STOP) {
+                    stopping = true; // nothing is queued after it
+                    continue;
+                }
+                count++;
+                try {
+                    deliver(event);
+                } catch (RuntimeException e) {
+                    System.out.println("⚠️ Event listener failed: " + e.getMessage());
+                }
+            }
+            synchronized (this) {
+                delivered += count;
+                notifyAll();
+            }
+            batch.clear();
+        }
+    }
+}
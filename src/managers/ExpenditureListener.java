@@ -0,0 +1,15 @@
+package managers;
+
+import models.Expenditure;
+
+/**
+ * Receives changes to the expenditure store so derived data can be
+ * updated incrementally instead of rescanning {@link ExpenditureManager#getAll()}.
+ */
+public interface ExpenditureListener {
+
+    void onExpenditureAdded(Expenditure exp);
+
+    default void onExpenditureRemoved(Expenditure exp) {
+    }
+}
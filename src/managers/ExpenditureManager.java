@@ -2,14 +2,18 @@ package managers;
 
 import models.Expenditure;
 import utils.MyHashMap;
+import utils.MyConcurrentHashMap;
 import utils.MyList;
 import utils.MyMap;
 import utils.FileStorage;
 import utils.MyArrayList;
+import utils.ParallelReduce;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 /**
  * Manages storage and retrieval of expenditures using custom data structures.
@@ -18,64 +22,187 @@ public class ExpenditureManager {
 
     private final MyMap<String, Expenditure> expenditures; // code → expenditure
     private final MyList<Expenditure> expenditureList;
+    private final boolean concurrent;
+    private EventBus eventBus = new EventBus();
+    private int parallelThreshold = ParallelReduce.DEFAULT_THRESHOLD;
 
     public ExpenditureManager() {
-        expenditures = new MyHashMap<>();
+        this(false);
+    }
+
+    /**
+     * @param concurrent true to allow expenditures to be added, removed and
+     *                   read from several threads. Code lookups then never
+     *                   block, and list reads work on a copy taken under the
+     *                   same lock that guards writes.
+     */
+    public ExpenditureManager(boolean concurrent) {
+        this.concurrent = concurrent;
+        expenditures = concurrent ? new MyConcurrentHashMap<>() : new MyHashMap<>();
         expenditureList = new MyArrayList<>();
     }
 
+    /**
+     * Replaces the bus that inserts and removals are published on.
+     * Listeners registered before the switch stay on the previous bus.
+     */
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Registers a listener notified after every insert and removal.
+     */
+    public void addListener(ExpenditureListener listener) {
+        eventBus.subscribe(ManagerEvents.ExpenditureAdded.class, e -> listener.onExpenditureAdded(e.getExpenditure()));
+        eventBus.subscribe(ManagerEvents.ExpenditureRemoved.class, e -> listener.onExpenditureRemoved(e.getExpenditure()));
+    }
+
+    /**
+     * Sets the store size above which searches are split across the
+     * common fork-join pool.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive.");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
     public void addExpenditure(Expenditure exp) {
         expenditures.put(exp.getCode(), exp);
-        expenditureList.add(exp);
-        
+        synchronized (expenditureList) { // appends to the ordered list are serialised
+            expenditureList.add(exp);
+        }
+        fireAdded(exp);
     }
 
-    public MyList<Expenditure> getAll() {
-        return expenditureList;
+    private void fireAdded(Expenditure exp) {
+        if (eventBus.hasListeners(ManagerEvents.ExpenditureAdded.class)) {
+            eventBus.publish(new ManagerEvents.ExpenditureAdded(exp));
+        }
     }
 
-    public MyList<Expenditure> searchByDateRange(Date start, Date end) {
-        MyList<Expenditure> result = new MyArrayList<>();
-        for (int i = 0; i < expenditureList.size(); i++) {
-            Expenditure exp = expenditureList.get(i);
-            if (!exp.getDate().before(start) && !exp.getDate().after(end)) {
-                result.add(exp);
-            }
+    private void fireRemoved(Expenditure exp) {
+        if (eventBus.hasListeners(ManagerEvents.ExpenditureRemoved.class)) {
+            eventBus.publish(new ManagerEvents.ExpenditureRemoved(exp));
         }
-        return result;
     }
 
-    public MyList<Expenditure> searchByCategory(String category) {
-        MyList<Expenditure> result = new MyArrayList<>();
-        for (int i = 0; i < expenditureList.size(); i++) {
-            Expenditure exp = expenditureList.get(i);
-            if (exp.getCategory().equalsIgnoreCase(category)) {
-                result.add(exp);
-            }
+    /**
+     * Adds the expenditure only if no expenditure with the same code exists.
+     * The check and insert are atomic in concurrent mode.
+     * @return false if the code is already taken
+     */
+    public boolean addExpenditureIfAbsent(Expenditure exp) {
+        if (!reserve(exp)) {
+            return false;
         }
-        return result;
+        commitReserved(exp);
+        return true;
     }
 
-    public MyList<Expenditure> searchByCostRange(double min, double max) {
-        MyList<Expenditure> result = new MyArrayList<>();
-        for (int i = 0; i < expenditureList.size(); i++) {
-            Expenditure exp = expenditureList.get(i);
-            if (exp.getAmount() >= min && exp.getAmount() <= max) {
-                result.add(exp);
-            }
+    /**
+     * Claims the expenditure's code without listing or publishing it, so a
+     * transaction can check all its codes before anything is observable
+     * to listeners. Follow with {@link #commitReserved} or {@link #release}.
+     * @return false if the code is already taken or reserved
+     */
+    boolean reserve(Expenditure exp) {
+        return expenditures.putIfAbsent(exp.getCode(), exp) == null;
+    }
+
+    /**
+     * Lists a reserved expenditure and publishes it as added.
+     */
+    void commitReserved(Expenditure exp) {
+        synchronized (expenditureList) {
+            expenditureList.add(exp);
         }
-        return result;
+        fireAdded(exp);
     }
 
-    public MyList<Expenditure> searchByAccount(String accountId) {
-        MyList<Expenditure> result = new MyArrayList<>();
-        for (int i = 0; i < expenditureList.size(); i++) {
-            Expenditure exp = expenditureList.get(i);
-            if (exp.getBankAccountId().equals(accountId)) {
-                result.add(exp);
+    /**
+     * Gives up a reservation; no event is published.
+     */
+    void release(Expenditure exp) {
+        if (expenditures.get(exp.getCode()) == exp) {
+            expenditures.remove(exp.getCode());
+        }
+    }
+
+    /**
+     * Removes the expenditure with the given code.
+     * @return the removed expenditure, or null if none
+     */
+    public Expenditure removeExpenditure(String code) {
+        Expenditure exp = expenditures.remove(code);
+        if (exp == null) {
+            return null;
+        }
+        synchronized (expenditureList) {
+            for (int i = expenditureList.size() - 1; i >= 0; i--) {
+                if (expenditureList.get(i) == exp) {
+                    expenditureList.remove(i);
+                    break;
+                }
             }
         }
-        return result;
+        fireRemoved(exp);
+        return exp;
+    }
+
+    /**
+     * Returns the expenditures in insertion order. In concurrent mode this is
+     * a snapshot that later writes do not affect; otherwise it is the live
+     * list, which callers must not modify.
+     */
+    public MyList<Expenditure> getAll() {
+        if (!concurrent) {
+            return expenditureList;
+        }
+        synchronized (expenditureList) {
+            return copyOf(expenditureList);
+        }
+    }
+
+    public MyList<Expenditure> searchByDateRange(Date start, Date end) {
+        return filter(exp -> !exp.getDate().before(start) && !exp.getDate().after(end));
+    }
+
+    public MyList<Expenditure> searchByCategory(String category) {
+        return filter(exp -> exp.getCategory().equalsIgnoreCase(category));
+    }
+
+    public MyList<Expenditure> searchByCostRange(double min, double max) {
+        return filter(exp -> exp.getAmount() >= min && exp.getAmount() <= max);
+    }
+
+    public MyList<Expenditure> searchByAccount(String accountId) {
+        return filter(exp -> exp.getBankAccountId().equals(accountId));
+    }
+
+    /**
+     * Returns the matching expenditures in insertion order.
+     */
+    private MyList<Expenditure> filter(Predicate<Expenditure> predicate) {
+        return ParallelReduce.reduce(getAll(), parallelThreshold, ForkJoinPool.commonPool(),
+                MyArrayList::new,
+                (matches, exp) -> {
+                    if (predicate.test(exp)) {
+                        matches.add(exp);
+                    }
+                },
+                (left, right) -> {
+                    for (int i = 0; i < right.size(); i++) {
+                        left.add(right.get(i));
+                    }
+                    return left;
+                });
     }
 
     public MyList<Expenditure> sortByCategory() {
@@ -107,9 +234,16 @@ public class ExpenditureManager {
     }
 
     private MyList<Expenditure> cloneList() {
+        if (concurrent) {
+            return getAll(); // already a private copy
+        }
+        return copyOf(expenditureList);
+    }
+
+    private static MyList<Expenditure> copyOf(MyList<Expenditure> list) {
         MyList<Expenditure> copy = new MyArrayList<>();
-        for (int i = 0; i < expenditureList.size(); i++) {
-            copy.add(expenditureList.get(i));
+        for (int i = 0; i < list.size(); i++) {
+            copy.add(list.get(i));
         }
         return copy;
     }
@@ -119,16 +253,19 @@ public class ExpenditureManager {
     }
 
     public int count() {
-        return expenditureList.size();
+        synchronized (expenditureList) {
+            return expenditureList.size();
+        }
     }
 
     /**
      * Save expenditures to file.
      */
     public void saveToFile(String filepath) {
+        MyList<Expenditure> all = getAll();
         MyList<String> lines = new MyArrayList<>();
-        for (int i = 0; i < expenditureList.size(); i++) {
-            lines.add(expenditureList.get(i).toFileString());
+        for (int i = 0; i < all.size(); i++) {
+            lines.add(all.get(i).toFileString());
         }
         FileStorage.writeLines(filepath, lines);
     }
@@ -137,6 +274,17 @@ public class ExpenditureManager {
      * Load expenditures from file.
      */
     public void loadFromFile(String filepath) {
+        MyList<Expenditure> loaded = readFromFile(filepath);
+        for (int i = 0; i < loaded.size(); i++) {
+            addExpenditure(loaded.get(i));
+        }
+    }
+
+    /**
+     * Parses an expenditures file without adding anything, skipping invalid lines.
+     */
+    public static MyList<Expenditure> readFromFile(String filepath) {
+        MyList<Expenditure> result = new MyArrayList<>();
         MyList<String> lines = FileStorage.readLines(filepath); // <- Already returns MyList<String>
         for (int i = 0; i < lines.size(); i++) {
             String line = lines.get(i).trim();
@@ -153,7 +301,7 @@ public class ExpenditureManager {
                     String account = parts[5].trim();
                     String receipt = parts.length >= 7 ? parts[6].trim() : "";
 
-                    addExpenditure(new Expenditure(code, amount, date, phase, category, account, receipt));
+                    result.add(new Expenditure(code, amount, date, phase, category, account, receipt));
                 } catch (NumberFormatException e) {
                     System.out.println("⚠️ Skipping invalid line (amount): " + line);
                 } catch (ParseException e) {
@@ -163,5 +311,6 @@ public class ExpenditureManager {
                 System.out.println("⚠️ Skipping incomplete line: " + line);
             }
         }
+        return result;
     }
 }
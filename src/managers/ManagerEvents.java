@@ -0,0 +1,142 @@
+package managers;
+
+import models.Expenditure;
+
+/**
+ * Event types published on the {@link EventBus} by the managers.
+ */
+public final class ManagerEvents {
+
+    private ManagerEvents() {
+    }
+
+    /**
+     * An expenditure was added to the store.
+     */
+    public static final class ExpenditureAdded {
+        private final Expenditure expenditure;
+
+        public ExpenditureAdded(Expenditure expenditure) {
+            this.expenditure = expenditure;
+        }
+
+        public Expenditure getExpenditure() {
+            return expenditure;
+        }
+    }
+
+    /**
+     * An expenditure was removed from the store, e.g. by a rolled-back transaction.
+     */
+    public static final class ExpenditureRemoved {
+        private final Expenditure expenditure;
+
+        public ExpenditureRemoved(Expenditure expenditure) {
+            this.expenditure = expenditure;
+        }
+
+        public Expenditure getExpenditure() {
+            return expenditure;
+        }
+    }
+
+    /**
+     * An account balance moved by deltaMinor pesewas (negative for debits).
+     */
+    public static final class BalanceChanged {
+        private final String accountId;
+        private final long deltaMinor;
+        private final long balanceMinor;
+
+        public BalanceChanged(String accountId, long deltaMinor, long balanceMinor) {
+            this.accountId = accountId;
+            this.deltaMinor = deltaMinor;
+            this.balanceMinor = balanceMinor;
+        }
+
+        public String getAccountId() {
+            return accountId;
+        }
+
+        public long getDeltaMinor() {
+            return deltaMinor;
+        }
+
+        public long getBalanceMinor() {
+            return balanceMinor;
+        }
+    }
+
+    /**
+     * A new category was added.
+     */
+    public static final class CategoryAdded {
+        private final String category;
+
+        public CategoryAdded(String category) {
+            this.category = category;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+    }
+
+    /**
+     * A receipt was queued for review.
+     */
+    public static final class ReceiptQueued {
+        private final String receiptPath;
+
+        public ReceiptQueued(String receiptPath) {
+            this.receiptPath = receiptPath;
+        }
+
+        public String getReceiptPath() {
+            return receiptPath;
+        }
+    }
+
+    /**
+     * A budget's consumption reached one of its alert thresholds.
+     */
+    public static final class BudgetThresholdCrossed {
+        private final BudgetManager.Scope scope;
+        private final String name;
+        private final double threshold;
+        private final double consumed;
+        private final double limit;
+
+        public BudgetThresholdCrossed(BudgetManager.Scope scope, String name, double threshold,
+                                      double consumed, double limit) {
+            this.scope = scope;
+            this.name = name;
+            this.threshold = threshold;
+            this.consumed = consumed;
+            this.limit = limit;
+        }
+
+        public BudgetManager.Scope getScope() {
+            return scope;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Fraction of the limit that was reached, e.g. 0.8 or 1.0.
+         */
+        public double getThreshold() {
+            return threshold;
+        }
+
+        public double getConsumed() {
+            return consumed;
+        }
+
+        public double getLimit() {
+            return limit;
+        }
+    }
+}
@@ -1,35 +1,188 @@
 package managers;
 
 import utils.FileStorage;
-import utils.MyLinkedQueue;
+import utils.MyHashMap;
+import utils.MyHashSet;
+import utils.MyArrayDeque;
+import utils.MyConcurrentHashMap;
+import utils.MyConcurrentHashSet;
+import utils.MyConcurrentLinkedQueue;
+import utils.MyMap;
+import utils.MyMpscQueue;
+import utils.MyPriorityQueue;
 import utils.MyQueue;
+import utils.MySet;
 import utils.MyList;
 import utils.MyArrayList;
 
+import java.io.File;
+
 /**
- * Simulates a receipt review queue (FIFO).
- * Accountants validate receipts in order of submission.
+ * Simulates a receipt review queue.
+ * Accountants validate receipts in order of submission, or by priority score
+ * when created with a {@link ReceiptScorer}.
+ * Receipts are content-addressed: identical files are stored and queued once,
+ * and a path re-uploaded with new content is re-indexed under it.
+ * Use {@link #concurrent(boolean)} when receipts are uploaded from several threads.
  */
 public class ReceiptManager {
 
     private MyQueue<String> receiptQueue;
+    private MyPriorityQueue<String> priorityQueue;     // the same queue in priority mode, null in FIFO mode
+    private final boolean concurrent;
+    private final MyMap<String, String> blobIndex;     // content key → stored path
+    private final MyMap<String, String> storedKeys;    // stored path → content key
+    private final MyMap<String, String> pathIndex;     // queued path → content key
+    private final MySet<String> pendingKeys;           // content keys waiting in the queue
+    private final MySet<String> reviewedKeys;          // content keys already reviewed
+    private EventBus eventBus = new EventBus();
 
     public ReceiptManager() {
-        receiptQueue = new MyLinkedQueue<>();
+        this(new MyArrayDeque<>(), false);
+    }
+
+    /**
+     * Creates a priority review queue: receipts with higher scores are reviewed
+     * first, ties are reviewed in order of submission.
+     */
+    public ReceiptManager(ReceiptScorer scorer) {
+        this(new MyArrayDeque<>(), false);
+        setScorer(scorer);
+    }
+
+    /**
+     * Creates a FIFO review queue that accepts uploads from many threads
+     * without a global lock: the queue is lock-free and the dedup indexes
+     * are lock-striped concurrent maps.
+     * @param singleReviewer true if only one thread reviews receipts, which
+     *                       allows the cheaper multi-producer/single-consumer queue
+     */
+    public static ReceiptManager concurrent(boolean singleReviewer) {
+        return new ReceiptManager(singleReviewer ? new MyMpscQueue<>() : new MyConcurrentLinkedQueue<>(), true);
+    }
+
+    private ReceiptManager(MyQueue<String> queue, boolean concurrent) {
+        receiptQueue = queue;
+        this.concurrent = concurrent;
+        blobIndex = concurrent ? new MyConcurrentHashMap<>() : new MyHashMap<>();
+        storedKeys = concurrent ? new MyConcurrentHashMap<>() : new MyHashMap<>();
+        pathIndex = concurrent ? new MyConcurrentHashMap<>() : new MyHashMap<>();
+        pendingKeys = concurrent ? new MyConcurrentHashSet<>() : new MyHashSet<>();
+        reviewedKeys = concurrent ? new MyConcurrentHashSet<>() : new MyHashSet<>();
+    }
+
+    /**
+     * Switches the review order. Pending receipts are re-queued in their
+     * current review order and rescored, so earlier escalations are dropped.
+     * @param scorer the priority to review by, or null for order of submission
+     * @return false for a concurrent manager, whose queue cannot be swapped safely
+     */
+    public boolean setScorer(ReceiptScorer scorer) {
+        if (concurrent) {
+            return false;
+        }
+        MyPriorityQueue<String> prioritised = scorer == null ? null
+                : new MyPriorityQueue<>(path -> -scorer.score(path));
+        MyQueue<String> queue = prioritised != null ? prioritised : new MyArrayDeque<>();
+        while (!receiptQueue.isEmpty()) {
+            queue.enqueue(receiptQueue.dequeue());
+        }
+        receiptQueue = queue;
+        priorityQueue = prioritised;
+        return true;
     }
 
     /**
      * Upload (enqueue) a receipt file path for review.
+     * A path already waiting in the queue keeps its place and is reviewed
+     * with its new content.
+     * @return true if queued, false if the same receipt content is already
+     *         pending or has already been reviewed
      */
-    public void uploadReceipt(String receiptPath) {
-        receiptQueue.enqueue(receiptPath);
+    public boolean uploadReceipt(String receiptPath) {
+        String key = contentKey(receiptPath);
+        if (reviewedKeys.contains(key) || !pendingKeys.add(key)) {
+            return false;
+        }
+        String storedPath = blobIndex.putIfAbsent(key, receiptPath);
+        if (storedPath == null) {
+            storedPath = receiptPath;
+            forgetStoredContent(receiptPath);
+            storedKeys.put(receiptPath, key);
+        }
+        String queuedKey = pathIndex.get(storedPath);
+        pathIndex.put(storedPath, key);
+        if (queuedKey != null) {
+            pendingKeys.remove(queuedKey); // already queued: the entry now stands for the new content
+            return true;
+        }
+        receiptQueue.enqueue(storedPath);
+        if (eventBus.hasListeners(ManagerEvents.ReceiptQueued.class)) {
+            eventBus.publish(new ManagerEvents.ReceiptQueued(storedPath));
+        }
+        return true;
     }
 
     /**
      * Review (dequeue) the next receipt in queue.
      */
     public String reviewReceipt() {
-        return receiptQueue.dequeue(); // removes the first receipt, returns null if empty
+        String path = receiptQueue.dequeue(); // removes the first receipt, returns null if empty
+        String key = pathIndex.remove(path);
+        if (key != null) {
+            reviewedKeys.add(key); // mark reviewed before releasing the pending slot
+            pendingKeys.remove(key);
+        }
+        return path;
+    }
+
+    /**
+     * Replaces the bus that queued receipts are published on.
+     */
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Puts a receipt taken off the queue back for manual review,
+     * e.g. after it failed automated validation.
+     */
+    public void returnForReview(String receiptPath) {
+        reviewedKeys.remove(contentKey(receiptPath));
+        uploadReceipt(receiptPath);
+    }
+
+    /**
+     * Raises the priority of a pending receipt (priority mode only).
+     * @return false if the receipt is not pending or the score is not higher
+     */
+    public boolean escalateReceipt(String receiptPath, double score) {
+        return priorityQueue != null && priorityQueue.decreaseKey(receiptPath, -score);
+    }
+
+    /**
+     * Returns the path under which the given receipt's content is stored,
+     * or null if no receipt with the same content has been seen.
+     */
+    public String findStoredPath(String receiptPath) {
+        return blobIndex.get(contentKey(receiptPath));
+    }
+
+    // The file at this path no longer holds the content it was stored under
+    private void forgetStoredContent(String storedPath) {
+        String oldKey = storedKeys.remove(storedPath);
+        if (oldKey != null && storedPath.equals(blobIndex.get(oldKey))) {
+            blobIndex.remove(oldKey);
+        }
+    }
+
+    /**
+     * Content key used for deduplication: the SHA-256 of the file, or the
+     * path itself when the file cannot be read.
+     */
+    private String contentKey(String receiptPath) {
+        String hash = FileStorage.hashContent(receiptPath);
+        return hash != null ? hash : "path:" + receiptPath;
     }
 
     /**
@@ -70,6 +223,34 @@ public class ReceiptManager {
         return "Could not parse receipt details.";
     }
 
+    /**
+     * Reads the labelled fields of a receipt file, e.g. "Amount" → "GHS 100.0".
+     * Returns null if the file is missing or not in receipt format.
+     */
+    public static MyMap<String, String> readReceiptFields(String receiptPath) {
+        if (!new File(receiptPath).isFile()) {
+            return null;
+        }
+        MyList<String> lines = FileStorage.readLines(receiptPath);
+        if (lines.size() < 2) {
+            return null;
+        }
+        String expenditureLine = lines.get(1).trim();
+        if (!expenditureLine.startsWith("Expenditure [") || !expenditureLine.endsWith("]")) {
+            return null;
+        }
+
+        MyMap<String, String> fields = new MyHashMap<>();
+        String content = expenditureLine.substring(13, expenditureLine.length() - 1);
+        for (String field : content.split(", ")) {
+            int colon = field.indexOf(": ");
+            if (colon > 0) {
+                fields.put(field.substring(0, colon), field.substring(colon + 2));
+            }
+        }
+        return fields;
+    }
+
     /**
      * Get the number of pending receipts.
      */
@@ -97,13 +278,18 @@ public class ReceiptManager {
     public void loadFromFile(String filepath) {
         for (String line : FileStorage.readLines(filepath)) {
             if (!line.isBlank()) {
-                receiptQueue.enqueue(line.trim());
+                uploadReceipt(line.trim());
             }
         }
 
     }
 
-    public void saveReceipt(String filepath, String receiptDetails) {
+    /**
+     * Writes a receipt file and queues it for review. If a receipt with
+     * identical content is already stored, the new copy is discarded.
+     * @return the path under which the receipt content is stored
+     */
+    public String saveReceipt(String filepath, String receiptDetails) {
         MyList<String> lines = new MyArrayList<>();
         filepath = "receipts/" + filepath; // Ensure the path is in the receipts directory
 
@@ -119,6 +305,14 @@ public class ReceiptManager {
         lines.add(""); // Empty line for separation
 
         FileStorage.writeLines(filepath, lines);
+
+        String storedPath = findStoredPath(filepath);
+        if (storedPath != null && !storedPath.equals(filepath)) {
+            forgetStoredContent(filepath); // any earlier content of this path is overwritten
+            new File(filepath).delete(); // Keep a single copy of duplicate content
+            return storedPath;
+        }
         uploadReceipt(filepath);
+        return filepath;
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package managers;
+
+import utils.MyMap;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Scores a pending receipt for priority review.
+ * Receipts with higher scores are reviewed first.
+ */
+public interface ReceiptScorer {
+
+    double score(String receiptPath);
+
+    /**
+     * Higher expenditure amounts are reviewed first.
+     */
+    static ReceiptScorer byAmount() {
+        return path -> {
+            MyMap<String, String> fields = ReceiptManager.readReceiptFields(path);
+            String amount = fields == null ? null : fields.get("Amount");
+            if (amount == null) return 0.0;
+            try {
+                return Double.parseDouble(amount.replace("GHS", "").trim());
+            } catch (NumberFormatException e) {
+                return 0.0;
+            }
+        };
+    }
+
+    /**
+     * Older expenditures are reviewed first (score is the age in days).
+     */
+    static ReceiptScorer byAge() {
+        return path -> {
+            MyMap<String, String> fields = ReceiptManager.readReceiptFields(path);
+            String date = fields == null ? null : fields.get("Date");
+            if (date == null) return 0.0;
+            try {
+                Date parsed = new SimpleDateFormat("dd-MM-yyyy").parse(date);
+                return (System.currentTimeMillis() - parsed.getTime()) / 86_400_000.0;
+            } catch (ParseException e) {
+                return 0.0;
+            }
+        };
+    }
+
+    /**
+     * Receipts charged to riskier accounts are reviewed first.
+     * @param riskByAccount account ID → risk score; unknown accounts score 0
+     */
+    static ReceiptScorer byAccountRisk(MyMap<String, Double> riskByAccount) {
+        return path -> {
+            MyMap<String, String> fields = ReceiptManager.readReceiptFields(path);
+            String account = fields == null ? null : fields.get("Account ID");
+            if (account == null) return 0.0;
+            return riskByAccount.getOrDefault(account, 0.0);
+        };
+    }
+}
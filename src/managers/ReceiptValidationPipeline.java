@@ -0,0 +1,218 @@
+package managers;
+
+import models.Expenditure;
+import utils.MyArrayList;
+import utils.MyList;
+import utils.MyMap;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Automated receipt validation running on a pool of worker threads.
+ * Receipts are fed through a bounded queue, so producers block (backpressure)
+ * when workers fall behind. Each receipt passes three stages: the file exists
+ * and parses, the linked expenditure exists, and the amounts match.
+ *
+ * The expenditure store is only read by workers and must not be modified
+ * while a run is in progress.
+ */
+public class ReceiptValidationPipeline {
+
+    private static final String STOP = new String("<stop>"); // identity sentinel
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    private final ExpenditureManager expManager;
+    private final int parallelism;
+    private final BlockingQueue<String> queue;
+    private final ConcurrentLinkedQueue<String> failures;
+    private final ConcurrentLinkedQueue<String> failedPaths;
+    private final StageMetrics fileStage = new StageMetrics("File exists");
+    private final StageMetrics expenditureStage = new StageMetrics("Expenditure linked");
+    private final StageMetrics amountStage = new StageMetrics("Amount matches");
+    private ExecutorService workers;
+
+    /**
+     * @param parallelism number of worker threads
+     * @param capacity    bound of the hand-off queue; submit blocks when full
+     */
+    public ReceiptValidationPipeline(ExpenditureManager expManager, int parallelism, int capacity) {
+        if (parallelism < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Parallelism and capacity must be positive.");
+        }
+        this.expManager = expManager;
+        this.parallelism = parallelism;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.failures = new ConcurrentLinkedQueue<>();
+        this.failedPaths = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Starts the worker threads.
+     */
+    public void start() {
+        if (workers != null) {
+            throw new IllegalStateException("Pipeline already started.");
+        }
+        AtomicInteger index = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "receipt-validator-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < parallelism; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
+
+    /**
+     * Submits a receipt for validation, blocking while the queue is full.
+     */
+    public void submit(String receiptPath) throws InterruptedException {
+        queue.put(receiptPath);
+    }
+
+    /**
+     * Submits a receipt, waiting at most the given time for queue space.
+     * @return false if the queue stayed full
+     */
+    public boolean trySubmit(String receiptPath, long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.offer(receiptPath, timeout, unit);
+    }
+
+    /**
+     * Signals end of input and waits for all submitted receipts to be validated.
+     * @return failure messages, one per rejected receipt
+     */
+    public MyList<String> finish() throws InterruptedException {
+        for (int i = 0; i < parallelism; i++) {
+            queue.put(STOP);
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        MyList<String> result = new MyArrayList<>();
+        for (String failure : failures) {
+            result.add(failure);
+        }
+        return result;
+    }
+
+    /**
+     * Drains the review queue through the pipeline. Receipts that pass are
+     * marked reviewed; receipts that fail are returned to the queue for manual review.
+     * @return failure messages, one per rejected receipt
+     */
+    public MyList<String> validateBacklog(ReceiptManager receiptManager) throws InterruptedException {
+        start();
+        while (!receiptManager.isEmpty()) {
+            submit(receiptManager.reviewReceipt());
+        }
+        MyList<String> result = finish();
+        for (String path : failedPaths) {
+            receiptManager.returnForReview(path);
+        }
+        return result;
+    }
+
+    /**
+     * Returns per-stage counts and average latency.
+     */
+    public String metricsReport() {
+        return fileStage + "\n" + expenditureStage + "\n" + amountStage;
+    }
+
+    private void runWorker() {
+        try {
+            while (true) {
+                String path = queue.take();
+                if (path == STOP) {
+                    return;
+                }
+                try {
+                    validate(path);
+                } catch (RuntimeException e) {
+                    // The receipt is already dequeued; fail it rather than lose it with the worker
+                    reject(path, "validation error: " + e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void validate(String path) {
+        long start = System.nanoTime();
+        MyMap<String, String> fields = ReceiptManager.readReceiptFields(path);
+        if (fields == null) {
+            fileStage.record(start, false);
+            reject(path, "receipt file missing or unreadable");
+            return;
+        }
+        fileStage.record(start, true);
+
+        start = System.nanoTime();
+        String code = fields.get("Code");
+        Expenditure exp = code == null ? null : expManager.getByCode(code);
+        if (exp == null) {
+            expenditureStage.record(start, false);
+            reject(path, "no expenditure with code " + code);
+            return;
+        }
+        expenditureStage.record(start, true);
+
+        start = System.nanoTime();
+        String amountField = fields.get("Amount");
+        boolean matches = false;
+        if (amountField != null) {
+            try {
+                double amount = Double.parseDouble(amountField.replace("GHS", "").trim());
+                matches = Math.abs(amount - exp.getAmount()) < AMOUNT_TOLERANCE;
+            } catch (NumberFormatException e) {
+                matches = false;
+            }
+        }
+        amountStage.record(start, matches);
+        if (!matches) {
+            reject(path, "amount " + amountField + " does not match GHS " + exp.getAmount());
+        }
+    }
+
+    private void reject(String path, String reason) {
+        failedPaths.add(path);
+        failures.add(path + ": " + reason);
+    }
+
+    /**
+     * Thread-safe pass/fail counters and cumulative latency for one stage.
+     */
+    private static class StageMetrics {
+        private final String name;
+        private final LongAdder passed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        StageMetrics(String name) {
+            this.name = name;
+        }
+
+        void record(long startNanos, boolean ok) {
+            nanos.add(System.nanoTime() - startNanos);
+            (ok ? passed : failed).increment();
+        }
+
+        @Override
+        public String toString() {
+            long total = passed.sum() + failed.sum();
+            double avgMicros = total == 0 ? 0.0 : nanos.sum() / 1000.0 / total;
+            return String.format("%-20s passed: %d, failed: %d, avg: %.1f µs",
+                    name, passed.sum(), failed.sum(), avgMicros);
+        }
+    }
+}
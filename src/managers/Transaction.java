@@ -0,0 +1,77 @@
+package managers;
+
+import models.Expenditure;
+import utils.MyArrayList;
+import utils.MyList;
+
+/**
+ * A batch of debits, credits and expenditure postings that is applied as
+ * one unit by {@link TransactionManager}: either every entry takes effect
+ * or none does.
+ */
+public class Transaction {
+
+    /**
+     * A single balance movement. Amounts are positive; debits reduce the balance.
+     */
+    static class Entry {
+        final String accountId;
+        final double amount;
+        final boolean debit;
+
+        Entry(String accountId, double amount, boolean debit) {
+            this.accountId = accountId;
+            this.amount = amount;
+            this.debit = debit;
+        }
+    }
+
+    private final MyList<Entry> entries = new MyArrayList<>();
+    private final MyList<Expenditure> expenditures = new MyArrayList<>();
+    private String failureReason;
+
+    public Transaction debit(String accountId, double amount) {
+        entries.add(new Entry(accountId, amount, true));
+        return this;
+    }
+
+    public Transaction credit(String accountId, double amount) {
+        entries.add(new Entry(accountId, amount, false));
+        return this;
+    }
+
+    public Transaction transfer(String fromAccount, String toAccount, double amount) {
+        return debit(fromAccount, amount).credit(toAccount, amount);
+    }
+
+    /**
+     * Records the expenditure and debits its amount from its bank account.
+     */
+    public Transaction expenditure(Expenditure exp) {
+        expenditures.add(exp);
+        return debit(exp.getAccountId(), exp.getAmount());
+    }
+
+    MyList<Entry> getEntries() {
+        return entries;
+    }
+
+    MyList<Expenditure> getExpenditures() {
+        return expenditures;
+    }
+
+    void setFailureReason(String reason) {
+        this.failureReason = reason;
+    }
+
+    /**
+     * Returns why the last execution was rolled back, or null if it committed.
+     */
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,173 @@
+package managers;
+
+import models.BankAccount;
+import models.Expenditure;
+import utils.MyArrayList;
+import utils.MyConcurrentHashMap;
+import utils.MyHashMap;
+import utils.MyList;
+import utils.MyMap;
+import utils.Money;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies {@link Transaction} batches atomically across many accounts.
+ * Each batch locks the accounts it touches in ascending ID order, so batches
+ * never deadlock and batches on disjoint accounts run in parallel. Net debits
+ * are taken first, then expenditure codes are reserved, then credits are
+ * paid and the expenditures published; any failure undoes the steps already
+ * applied. Expenditure events fire only once a transaction commits, so a
+ * rejected one is never seen by listeners.
+ *
+ * Parallel execution requires managers created in concurrent mode.
+ */
+public class TransactionManager {
+
+    private final BankAccountManager bankManager;
+    private final ExpenditureManager expManager;
+    private final MyMap<String, ReentrantLock> accountLocks;
+
+    public TransactionManager(BankAccountManager bankManager, ExpenditureManager expManager) {
+        this.bankManager = bankManager;
+        this.expManager = expManager;
+        this.accountLocks = new MyConcurrentHashMap<>();
+    }
+
+    /**
+     * Applies the whole transaction or nothing.
+     * @return true if committed; otherwise see {@link Transaction#getFailureReason()}
+     */
+    public boolean execute(Transaction tx) {
+        tx.setFailureReason(null);
+
+        // Net movement per account, in pesewas
+        MyMap<String, Long> net = new MyHashMap<>();
+        for (Transaction.Entry entry : tx.getEntries()) {
+            if (!(entry.amount > 0)) {
+                return fail(tx, "Amount must be positive for account " + entry.accountId);
+            }
+            long minor = Money.toMinor(entry.amount);
+            net.put(entry.accountId, net.getOrDefault(entry.accountId, 0L) + (entry.debit ? -minor : minor));
+        }
+
+        String[] accountIds = new String[net.size()];
+        int n = 0;
+        for (String id : net.keySet()) {
+            accountIds[n++] = id;
+        }
+        Arrays.sort(accountIds); // canonical lock order
+
+        ReentrantLock[] locks = new ReentrantLock[accountIds.length];
+        for (int i = 0; i < accountIds.length; i++) {
+            locks[i] = lockFor(accountIds[i]);
+            locks[i].lock();
+        }
+        try {
+            return apply(tx, accountIds, net);
+        } finally {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Executes independent transactions on a pool of worker threads.
+     * @return number of transactions committed
+     */
+    public int executeAll(MyList<Transaction> transactions, int parallelism) throws InterruptedException {
+        AtomicInteger committed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        for (Transaction tx : transactions) {
+            pool.execute(() -> {
+                if (execute(tx)) {
+                    committed.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        return committed.get();
+    }
+
+    private boolean apply(Transaction tx, String[] accountIds, MyMap<String, Long> net) {
+        BankAccount[] accounts = new BankAccount[accountIds.length];
+        for (int i = 0; i < accountIds.length; i++) {
+            accounts[i] = bankManager.getAccount(accountIds[i]);
+            if (accounts[i] == null) {
+                return fail(tx, "Account not found: " + accountIds[i]);
+            }
+        }
+
+        // 1. Take net debits; the only step that can fail on funds
+        int debited = 0;
+        for (; debited < accounts.length; debited++) {
+            long delta = net.get(accountIds[debited]);
+            if (delta < 0 && !accounts[debited].tryWithdraw(-delta)) {
+                refund(accounts, accountIds, net, debited);
+                return fail(tx, "Insufficient funds in account " + accountIds[debited]);
+            }
+        }
+
+        // 2. Reserve expenditure codes without publishing anything
+        MyList<Expenditure> claimed = new MyArrayList<>();
+        for (Expenditure exp : tx.getExpenditures()) {
+            if (!expManager.reserve(exp)) {
+                for (Expenditure done : claimed) {
+                    expManager.release(done);
+                }
+                refund(accounts, accountIds, net, accounts.length);
+                return fail(tx, "Duplicate expenditure code: " + exp.getCode());
+            }
+            claimed.add(exp);
+        }
+
+        // 3. Pay net credits, write the ledger, publish and link expenditures; cannot fail
+        for (int i = 0; i < accounts.length; i++) {
+            long delta = net.get(accountIds[i]);
+            if (delta > 0) {
+                accounts[i].deposit(delta);
+            }
+            if (delta != 0) {
+                bankManager.recordMovement(accounts[i], delta);
+            }
+        }
+        for (Expenditure exp : claimed) {
+            expManager.commitReserved(exp);
+            bankManager.recordExpenditure(exp);
+        }
+        return true;
+    }
+
+    private void refund(BankAccount[] accounts, String[] accountIds, MyMap<String, Long> net, int count) {
+        for (int i = 0; i < count; i++) {
+            long delta = net.get(accountIds[i]);
+            if (delta < 0) {
+                accounts[i].deposit(-delta);
+            }
+        }
+    }
+
+    private ReentrantLock lockFor(String accountId) {
+        ReentrantLock lock = accountLocks.get(accountId);
+        if (lock == null) {
+            ReentrantLock created = new ReentrantLock();
+            lock = accountLocks.putIfAbsent(accountId, created);
+            if (lock == null) {
+                lock = created;
+            }
+        }
+        return lock;
+    }
+
+    private boolean fail(Transaction tx, String reason) {
+        tx.setFailureReason(reason);
+        return false;
+    }
+}
@@ -2,20 +2,37 @@ package models;
 
 import utils.MyList;
 import utils.MyArrayList;
+import utils.Money;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * Represents a bank account.
+ * The balance is held in pesewas and updated with compare-and-set, so
+ * concurrent deposits and withdrawals need no lock and never overdraw.
  */
 public class BankAccount {
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(BankAccount.class, "balanceMinor", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private String accountId;
     private String bankName;
-    private double balance;
+    private volatile long balanceMinor;  // Balance in pesewas
     private MyList<String> expenditures; // Stores codes of expenditures linked to this account
+    private final SpendSummary spendSummary = new SpendSummary();
 
     public BankAccount(String accountId, String bankName, double balance) {
         this.accountId = accountId;
         this.bankName = bankName;
-        this.balance = balance;
+        this.balanceMinor = Money.toMinor(balance);
         this.expenditures = new MyArrayList<>();
     }
 
@@ -28,11 +45,48 @@ public class BankAccount {
     }
 
     public double getBalance() {
-        return balance;
+        return Money.toMajor(balanceMinor);
+    }
+
+    public long getBalanceMinor() {
+        return balanceMinor;
     }
 
     public void setBalance(double balance) {
-        this.balance = balance;
+        this.balanceMinor = Money.toMinor(balance);
+    }
+
+    /**
+     * Atomically withdraws the amount if the balance covers it.
+     * @param amountMinor amount in pesewas
+     * @return false if funds are insufficient or the amount is negative
+     */
+    public boolean tryWithdraw(long amountMinor) {
+        if (amountMinor < 0) {
+            return false;
+        }
+        while (true) {
+            long current = balanceMinor;
+            if (current < amountMinor) {
+                return false;
+            }
+            if (BALANCE.compareAndSet(this, current, current - amountMinor)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically deposits the amount.
+     * @param amountMinor amount in pesewas
+     * @return false if the amount is negative
+     */
+    public boolean deposit(long amountMinor) {
+        if (amountMinor < 0) {
+            return false;
+        }
+        BALANCE.getAndAdd(this, amountMinor);
+        return true;
     }
 
     public void addExpenditure(String expenditureCode) {
@@ -42,9 +96,13 @@ public class BankAccount {
     public MyList<String> getExpenditures() {
         return expenditures;
     }
+
+    public SpendSummary getSpendSummary() {
+        return spendSummary;
+    }
     // it is here we send data as a text
     public String toFileString() {
-        return accountId + "," + bankName + "," + balance;
+        return accountId + "," + bankName + "," + getBalance();
     }
 
 
@@ -52,7 +110,7 @@ public class BankAccount {
     public String toString() {
         return "🏦 Account ID: " + accountId +
                ", Bank: " + bankName +
-               ", Balance: GHS " + balance +
+               ", Balance: GHS " + getBalance() +
                ", Transactions: " + expenditures.size();
     }
 }
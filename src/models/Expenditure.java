@@ -3,6 +3,8 @@ package models;
 import java.util.Date;
 import java.text.SimpleDateFormat;
 
+import utils.DateKeys;
+
 /**
  * Represents a single expenditure record made by the company.
  * It contains key details such as amount, phase, category, and the bank account used.
@@ -15,6 +17,8 @@ public class Expenditure {
     private String category;      // E.g., Cement, Printing, Advertising
     private String accountId;     // ID of the bank account used
     private String receiptPath;   // Optional path to receipt/invoice file
+    private final int monthKey;   // year * 12 + month index, for grouping without formatting
+    private final int epochDay;   // days since 1970-01-01
 
     // Constructor to initialize expenditure
     public Expenditure(String code, double amount, Date date, String phase,
@@ -26,6 +30,8 @@ public class Expenditure {
         this.category = category;
         this.accountId = accountId;
         this.receiptPath = receiptPath;
+        this.monthKey = DateKeys.monthKey(date);
+        this.epochDay = DateKeys.epochDay(date);
     }
 
     // Getters
@@ -36,6 +42,8 @@ public class Expenditure {
     public String getCategory() { return category; }
     public String getAccountId() { return accountId; }
     public String getReceiptPath() { return receiptPath; }
+    public int getMonthKey() { return monthKey; }
+    public int getEpochDay() { return epochDay; }
 
     // Setters
     public void setReceiptPath(String receiptPath) {
@@ -0,0 +1,65 @@
+package models;
+
+import utils.DateKeys;
+import utils.MyHashMap;
+import utils.MyMap;
+
+import java.util.Date;
+
+/**
+ * Running spend totals for one bank account, updated as expenditures are posted.
+ */
+public class SpendSummary {
+    private double total;
+    private int count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private final MyMap<Integer, Double> monthlyTotals = new MyHashMap<>(); // DateKeys month key → total
+
+    public synchronized void add(double amount, Date date) {
+        total += amount;
+        count++;
+        if (count == 1 || amount < min) min = amount;
+        if (count == 1 || amount > max) max = amount;
+        int month = DateKeys.monthKey(date);
+        monthlyTotals.put(month, monthlyTotals.getOrDefault(month, 0.0) + amount);
+    }
+
+    public synchronized double getTotal() {
+        return total;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Smallest expenditure, or NaN if none.
+     */
+    public synchronized double getMin() {
+        return min;
+    }
+
+    /**
+     * Largest expenditure, or NaN if none.
+     */
+    public synchronized double getMax() {
+        return max;
+    }
+
+    /**
+     * Total spent in the month containing the given date.
+     */
+    public synchronized double getMonthTotal(Date date) {
+        return monthlyTotals.getOrDefault(DateKeys.monthKey(date), 0.0);
+    }
+
+    @Override
+    public synchronized String toString() {
+        if (count == 0) {
+            return "No spending recorded";
+        }
+        return String.format("Spent: GHS %.2f in %d expenditure(s), min GHS %.2f, max GHS %.2f",
+                total, count, min, max);
+    }
+}
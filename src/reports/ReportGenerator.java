@@ -18,10 +18,11 @@ public class ReportGenerator {
             writer.write("• HashMap (Expenditures): Used for fast retrieval by code (O(1) average).\n");
             writer.write("• HashSet (Categories): Ensures uniqueness and supports fast lookups.\n");
             writer.write("• Map (Accounts): Associates bank account IDs with details and expenditures.\n");
-            writer.write("• Queue (Receipts): FIFO structure for receipt processing in order of submission.\n");
+            writer.write("• Queue (Receipts): FIFO circular-array deque for receipt processing in order of submission.\n");
+            writer.write("• HashMap (Receipt Index): SHA-256 content hash → stored path, dedupes receipts in O(1).\n");
             writer.write("• Graph (Account Relationships): Models internal transfers as directed edges.\n");
             writer.write("• List/ArrayList: Used for sorting and intermediate storage.\n");
-            writer.write("• TreeMap: Used to store burn rate with monthly ordering.\n\n");
+            writer.write("• TreeMap: Red-black tree keeping burn rate and monthly totals in calendar order.\n\n");
 
             writer.write("2️⃣ SEARCHING TECHNIQUES\n");
             writer.write("-------------------------\n");
@@ -41,6 +42,7 @@ public class ReportGenerator {
             writer.write("• HashMap Lookup: O(1) average, O(n) worst\n");
             writer.write("• HashSet Add/Search: O(1) average, O(n) worst\n");
             writer.write("• Queue Operations (enqueue/dequeue): O(1)\n");
+            writer.write("• TreeMap Insert/Lookup/Floor/Ceiling: O(log n)\n");
             writer.write("• BFS for graph traversal: O(V + E)\n");
             writer.write("• Insertion Sort: O(n²) worst, Ω(n) best\n\n");
 
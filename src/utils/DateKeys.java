@@ -0,0 +1,92 @@
+package utils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * Integer bucket keys for dates, so grouping by month or day needs no
+ * string formatting. Dates are interpreted in the system time zone and
+ * calendar, matching the SimpleDateFormat instances used elsewhere.
+ */
+public class DateKeys {
+
+    /**
+     * Orders "MM-yyyy" labels chronologically.
+     */
+    public static final Comparator<String> MONTH_LABEL_ORDER = Comparator.comparingInt(DateKeys::parseMonthKey);
+
+    /**
+     * Earliest year treated as a plausible expenditure date.
+     */
+    public static final int EARLIEST_YEAR = 1900;
+
+    // Before this instant SimpleDateFormat uses the Julian calendar
+    private static final long GREGORIAN_CUTOVER = new GregorianCalendar().getGregorianChange().getTime();
+
+    private DateKeys() {
+    }
+
+    /**
+     * Returns year * 12 + (month - 1); consecutive months have consecutive keys.
+     */
+    public static int monthKey(Date date) {
+        LocalDate local = toLocalDate(date);
+        return local.getYear() * 12 + (local.getMonthValue() - 1);
+    }
+
+    /**
+     * Returns the number of days since 1970-01-01.
+     */
+    public static int epochDay(Date date) {
+        return (int) toLocalDate(date).toEpochDay();
+    }
+
+    /**
+     * Returns whether a month key falls between {@link #EARLIEST_YEAR} and
+     * the end of next year; anything outside is almost certainly a typo.
+     */
+    public static boolean isPlausible(int monthKey) {
+        int year = Math.floorDiv(monthKey, 12);
+        return year >= EARLIEST_YEAR && year <= LocalDate.now().getYear() + 1;
+    }
+
+    /**
+     * Formats a month key as "MM-yyyy".
+     */
+    public static String formatMonthKey(int monthKey) {
+        int year = Math.floorDiv(monthKey, 12);
+        int month = Math.floorMod(monthKey, 12) + 1;
+        return String.format("%02d-%04d", month, year);
+    }
+
+    /**
+     * Parses a "MM-yyyy" label back to its month key.
+     * @throws IllegalArgumentException if the label is malformed or the month is not 1-12
+     */
+    public static int parseMonthKey(String label) {
+        int dash = label.indexOf('-');
+        if (dash < 0) {
+            throw new IllegalArgumentException("Expected MM-yyyy: " + label);
+        }
+        int month = Integer.parseInt(label.substring(0, dash));
+        int year = Integer.parseInt(label.substring(dash + 1));
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be 1-12: " + label);
+        }
+        return year * 12 + (month - 1);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        if (date.getTime() >= GREGORIAN_CUTOVER) {
+            return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+        Calendar calendar = new GregorianCalendar();
+        calendar.setTime(date);
+        return LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, 1)
+                .plusDays(calendar.get(Calendar.DAY_OF_MONTH) - 1); // Julian leap days roll over
+    }
+}
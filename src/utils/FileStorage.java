@@ -1,6 +1,8 @@
 package utils;
 
 import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 public class FileStorage {
 
@@ -33,4 +35,30 @@ public class FileStorage {
         }
         return lines;
     }
+
+    /**
+     * Computes the SHA-256 digest of a file's contents as a hex string.
+     * Returns null if the file does not exist or cannot be read.
+     */
+    public static String hashContent(String path) {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package utils;
+
+/**
+ * Conversions between GHS amounts and whole pesewas (minor units).
+ * Balances are kept in minor units so arithmetic is exact.
+ */
+public class Money {
+
+    private static final double MINOR_PER_MAJOR = 100.0;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a GHS amount to pesewas, rounding to the nearest pesewa.
+     */
+    public static long toMinor(double amount) {
+        return Math.round(amount * MINOR_PER_MAJOR);
+    }
+
+    /**
+     * Converts pesewas back to a GHS amount.
+     */
+    public static double toMajor(long minor) {
+        return minor / MINOR_PER_MAJOR;
+    }
+}
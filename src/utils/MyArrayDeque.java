@@ -0,0 +1,160 @@
+package utils;
+
+import java.util.Iterator;
+
+/**
+ * Double-ended queue backed by a growable circular array.
+ * Used as a FIFO queue, enqueue and dequeue do not allocate once the
+ * array has grown to the working size.
+ */
+public class MyArrayDeque<T> implements MyQueue<T> {
+    private T[] data;
+    private int head;   // index of the first element
+    private int size;
+
+    public MyArrayDeque() {
+        this(16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public MyArrayDeque(int initialCapacity) {
+        int capacity = 1;
+        while (capacity < initialCapacity) {
+            capacity <<= 1; // power of two so indices wrap with a mask
+        }
+        data = (T[]) new Object[capacity];
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public void enqueue(T item) {
+        addLast(item);
+    }
+
+    @Override
+    public T dequeue() {
+        return removeFirst();
+    }
+
+    @Override
+    public T peek() {
+        return peekFirst();
+    }
+
+    public void addFirst(T item) {
+        if (size == data.length) {
+            resize();
+        }
+        head = (head - 1) & (data.length - 1);
+        data[head] = item;
+        size++;
+    }
+
+    public void addLast(T item) {
+        if (size == data.length) {
+            resize();
+        }
+        data[(head + size) & (data.length - 1)] = item;
+        size++;
+    }
+
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        T value = data[head];
+        data[head] = null;
+        head = (head + 1) & (data.length - 1);
+        size--;
+        return value;
+    }
+
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        int tail = (head + size - 1) & (data.length - 1);
+        T value = data[tail];
+        data[tail] = null;
+        size--;
+        return value;
+    }
+
+    public T peekFirst() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return data[head];
+    }
+
+    public T peekLast() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return data[(head + size - 1) & (data.length - 1)];
+    }
+
+    /**
+     * Removes up to maxItems elements from the front and appends them to target.
+     * @return number of elements moved
+     */
+    public int drainTo(MyList<T> target, int maxItems) {
+        int count = Math.min(maxItems, size);
+        int mask = data.length - 1;
+        for (int i = 0; i < count; i++) {
+            target.add(data[head]);
+            data[head] = null;
+            head = (head + 1) & mask;
+        }
+        size -= count;
+        return count;
+    }
+
+    public void clear() {
+        int mask = data.length - 1;
+        for (int i = 0; i < size; i++) {
+            data[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                return data[(head + index++) & (data.length - 1)];
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        T[] newData = (T[]) new Object[data.length * 2];
+        int mask = data.length - 1;
+        for (int i = 0; i < size; i++) {
+            newData[i] = data[(head + i) & mask];
+        }
+        data = newData;
+        head = 0;
+    }
+}
@@ -1,6 +1,8 @@
 package utils;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Custom implementation of an ArrayList.
@@ -94,6 +96,64 @@ public class MyArrayList<T> implements MyList<T> {
         };
     }
 
+    /**
+     * Splits by halving index ranges of the backing array.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(data, 0, size);
+    }
+
+    private static final class ArraySpliterator<T> implements Spliterator<T> {
+        private final T[] array;
+        private int index;
+        private final int fence;
+
+        ArraySpliterator(T[] array, int index, int fence) {
+            this.array = array;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(array[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (int i = index; i < fence; i++) {
+                action.accept(array[i]);
+            }
+            index = fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int low = index;
+            int mid = (low + fence) >>> 1;
+            if (low >= mid) {
+                return null;
+            }
+            index = mid;
+            return new ArraySpliterator<>(array, low, mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void resize() {
         T[] newData = (T[]) new Object[data.length * 2];
@@ -0,0 +1,296 @@
+package utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe hash map using lock striping.
+ * Keys are spread over independent segments, each with its own lock and
+ * bucket table, so writers only contend within a segment and each segment
+ * resizes on its own while the others keep serving. Reads never lock: bucket
+ * chains are immutable apart from values, and are published with release writes.
+ * Null keys and values are not supported.
+ */
+public class MyConcurrentHashMap<K, V> implements MyMap<K, V> {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int SEGMENT_CAPACITY = 4;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final VarHandle BUCKET = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    // Bucket chain node; only the value may change after publication
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // Public interface-compatible entry
+    private static class EntryView<K, V> implements MyMap.Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        EntryView(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public V getValue() {
+            return value;
+        }
+    }
+
+    // A lock-protected sub-table; readers use the volatile table without locking
+    private static final class Segment<K, V> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        volatile Node<K, V>[] table;
+        volatile int count;
+
+        Segment(int capacity) {
+            table = newTable(capacity);
+        }
+    }
+
+    // Generic arrays cannot be created directly
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Node<K, V>[] newTable(int capacity) {
+        return (Node<K, V>[]) new Node[capacity];
+    }
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    public MyConcurrentHashMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param concurrencyLevel expected number of concurrent writers (rounded up to a power of two)
+     */
+    public MyConcurrentHashMap(int concurrencyLevel) {
+        int count = 1;
+        int bits = 0;
+        while (count < concurrencyLevel) {
+            count <<= 1;
+            bits++;
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment<K, V>[] created = (Segment<K, V>[]) new Segment[count];
+        segments = created;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(SEGMENT_CAPACITY);
+        }
+        segmentShift = 32 - bits;
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h * 0x9E3779B9; // mix so both high (segment) and low (bucket) bits vary
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> bucketAt(Node<K, V>[] table, int index) {
+        return (Node<K, V>) BUCKET.getAcquire(table, index);
+    }
+
+    private static <K, V> void setBucket(Node<K, V>[] table, int index, Node<K, V> node) {
+        BUCKET.setRelease(table, index, node);
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) return null;
+        int hash = spread(key);
+        Node<K, V>[] table = segmentFor(hash).table;
+        for (Node<K, V> node = bucketAt(table, hash & (table.length - 1)); node != null; node = node.next) {
+            if (node.hash == hash && node.key.equals(key)) {
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        insert(key, value, false);
+    }
+
+    /**
+     * Atomically inserts the value if the key is absent.
+     * @return the existing value, or null if the value was inserted
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return insert(key, value, true);
+    }
+
+    private V insert(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Null keys and values are not supported.");
+        }
+        int hash = spread(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Node<K, V>[] table = segment.table;
+            int index = hash & (table.length - 1);
+            Node<K, V> head = bucketAt(table, index);
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                if (node.hash == hash && node.key.equals(key)) {
+                    V old = node.value;
+                    if (!onlyIfAbsent) {
+                        node.value = value;
+                    }
+                    return old;
+                }
+            }
+            setBucket(table, index, new Node<>(hash, key, value, head));
+            int count = segment.count + 1;
+            segment.count = count;
+            if ((1.0 * count) / table.length > LOAD_FACTOR) {
+                resize(segment);
+            }
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) return null;
+        int hash = spread(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Node<K, V>[] table = segment.table;
+            int index = hash & (table.length - 1);
+            Node<K, V> head = bucketAt(table, index);
+            Node<K, V> target = head;
+            while (target != null && !(target.hash == hash && target.key.equals(key))) {
+                target = target.next;
+            }
+            if (target == null) {
+                return null;
+            }
+            // Chains are immutable: copy the nodes in front of the removed one
+            Node<K, V> rebuilt = target.next;
+            for (Node<K, V> node = head; node != target; node = node.next) {
+                rebuilt = new Node<>(node.hash, node.key, node.value, rebuilt);
+            }
+            setBucket(table, index, rebuilt);
+            segment.count = segment.count - 1;
+            return target.value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Doubles a segment's table. Called with the segment lock held; readers
+     * keep using the old table until the new one is published.
+     */
+    private void resize(Segment<K, V> segment) {
+        Node<K, V>[] oldTable = segment.table;
+        Node<K, V>[] newTable = newTable(oldTable.length * 2);
+        int mask = newTable.length - 1;
+        for (int i = 0; i < oldTable.length; i++) {
+            for (Node<K, V> node = bucketAt(oldTable, i); node != null; node = node.next) {
+                int index = node.hash & mask;
+                newTable[index] = new Node<>(node.hash, node.key, node.value, newTable[index]);
+            }
+        }
+        segment.table = newTable; // volatile write publishes the filled table
+    }
+
+    /**
+     * Removes all entries, one segment at a time.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                segment.table = newTable(SEGMENT_CAPACITY);
+                segment.count = 0;
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        long total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.count;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            if (segment.count != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a weakly consistent snapshot of the entries.
+     */
+    @Override
+    public Iterable<MyMap.Entry<K, V>> entrySet() {
+        MyList<MyMap.Entry<K, V>> entries = new MyArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            Node<K, V>[] table = segment.table;
+            for (int i = 0; i < table.length; i++) {
+                for (Node<K, V> node = bucketAt(table, i); node != null; node = node.next) {
+                    entries.add(new EntryView<>(node.key, node.value));
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public Iterable<K> keySet() {
+        MyList<K> keys = new MyArrayList<>();
+        for (MyMap.Entry<K, V> entry : entrySet()) {
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    @Override
+    public MyList<V> values() {
+        MyList<V> list = new MyArrayList<>();
+        for (MyMap.Entry<K, V> entry : entrySet()) {
+            list.add(entry.getValue());
+        }
+        return list;
+    }
+}
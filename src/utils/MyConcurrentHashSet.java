@@ -0,0 +1,63 @@
+package utils;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * Thread-safe set backed by MyConcurrentHashMap.
+ * Lookups never lock; add and remove are atomic.
+ */
+public class MyConcurrentHashSet<T> implements MySet<T> {
+
+    private final MyConcurrentHashMap<T, Boolean> map;
+
+    public MyConcurrentHashSet() {
+        this.map = new MyConcurrentHashMap<>();
+    }
+
+    @Override
+    public boolean add(T item) {
+        return map.putIfAbsent(item, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return map.containsKey(item);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        return map.remove(item) != null;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Iterates over a weakly consistent snapshot of the items.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return map.keySet().iterator();
+    }
+
+    /**
+     * Splits a snapshot of the keys.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return map.keySet().spliterator();
+    }
+}
@@ -0,0 +1,182 @@
+package utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free unbounded queue (Michael–Scott algorithm).
+ * Any number of threads may enqueue and dequeue concurrently.
+ * Iteration is weakly consistent and size() is a snapshot estimate
+ * while other threads are active.
+ */
+public class MyConcurrentLinkedQueue<T> implements MyQueue<T> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+    private static final VarHandle ITEM;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(MyConcurrentLinkedQueue.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(MyConcurrentLinkedQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            ITEM = lookup.findVarHandle(Node.class, "item", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Internal node structure; head always points to a dummy node
+    private static class Node<T> {
+        volatile T item;
+        volatile Node<T> next;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+
+    private volatile Node<T> head;
+    private volatile Node<T> tail;
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+
+    public MyConcurrentLinkedQueue() {
+        Node<T> dummy = new Node<>(null);
+        head = tail = dummy;
+    }
+
+    @Override
+    public void enqueue(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null items are not supported.");
+        }
+        Node<T> node = new Node<>(item);
+        while (true) {
+            Node<T> last = tail;
+            Node<T> next = last.next;
+            if (last != tail) continue;
+            if (next == null) {
+                if (NEXT.compareAndSet(last, null, node)) {
+                    TAIL.compareAndSet(this, last, node); // may fail; another thread will help
+                    enqueued.increment();
+                    return;
+                }
+            } else {
+                TAIL.compareAndSet(this, last, next); // help a lagging tail
+            }
+        }
+    }
+
+    @Override
+    public T dequeue() {
+        T item = poll();
+        if (item == null) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return item;
+    }
+
+    /**
+     * Removes and returns the front item, or null if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        while (true) {
+            Node<T> first = head;
+            Node<T> last = tail;
+            Node<T> next = first.next;
+            if (first != head) continue;
+            if (next == null) {
+                return null;
+            }
+            if (first == last) {
+                TAIL.compareAndSet(this, last, next);
+                continue;
+            }
+            T item = next.item;
+            if (HEAD.compareAndSet(this, first, next)) {
+                ITEM.setRelease(next, (T) null); // next is the new dummy
+                dequeued.increment();
+                return item;
+            }
+        }
+    }
+
+    @Override
+    public T peek() {
+        while (true) {
+            Node<T> first = head;
+            Node<T> next = first.next;
+            if (next == null) {
+                throw new IllegalStateException("Queue is empty.");
+            }
+            T item = next.item;
+            if (first == head && item != null) {
+                return item;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    @Override
+    public int size() {
+        long count = enqueued.sum() - dequeued.sum();
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, count));
+    }
+
+    /**
+     * Unsized, since size() is only an estimate while producers are active.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> current = head;
+            private T nextItem = advance();
+
+            // Moves to the next live node, skipping nodes dequeued meanwhile
+            private T advance() {
+                while (current != null) {
+                    current = current.next;
+                    if (current != null) {
+                        T item = current.item;
+                        if (item != null) return item;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextItem != null;
+            }
+
+            @Override
+            public T next() {
+                if (nextItem == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = nextItem;
+                nextItem = advance();
+                return value;
+            }
+        };
+    }
+}
@@ -1,5 +1,11 @@
 package utils;
 
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Simple hash map using separate chaining.
  */
@@ -167,6 +173,83 @@ public class MyHashMap<K, V> implements MyMap<K, V> {
     }
 
 
+    /**
+     * Streams the entries straight from the bucket table, without the
+     * copy made by entrySet().
+     */
+    @Override
+    public Stream<MyMap.Entry<K, V>> entryStream() {
+        return StreamSupport.stream(spliterator(e -> new EntryView<>(e.key, e.value)), false);
+    }
+
+    Spliterator<K> keySpliterator() {
+        return spliterator(e -> e.key);
+    }
+
+    private <R> Spliterator<R> spliterator(Function<Entry<K, V>, R> mapper) {
+        return new BucketSpliterator<>(buckets, 0, buckets.length, size, true, mapper);
+    }
+
+    /**
+     * Walks a range of buckets; splits hand off the lower half of the range.
+     */
+    private static final class BucketSpliterator<K, V, R> implements Spliterator<R> {
+        private final Entry<K, V>[] table;
+        private final Function<Entry<K, V>, R> mapper;
+        private int index;
+        private final int fence;
+        private long estimate;
+        private boolean exact;
+        private Entry<K, V> current;
+
+        BucketSpliterator(Entry<K, V>[] table, int index, int fence, long estimate, boolean exact,
+                          Function<Entry<K, V>, R> mapper) {
+            this.table = table;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            while (current == null && index < fence) {
+                current = table[index++];
+            }
+            if (current == null) {
+                return false;
+            }
+            Entry<K, V> entry = current;
+            current = current.next;
+            action.accept(mapper.apply(entry));
+            return true;
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            int low = index;
+            int mid = (low + fence) >>> 1;
+            if (low >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            estimate >>>= 1;
+            exact = false;
+            return new BucketSpliterator<>(table, low, mid, estimate, false, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT;
+        }
+    }
+
     @Override
     public MyList<V> values() {
         MyList<V> list = new MyArrayList<>();
@@ -1,13 +1,14 @@
 package utils;
 
 import java.util.Iterator;
+import java.util.Spliterator;
 
 /**
  * HashSet implementation backed by custom MyHashMap.
  */
 public class MyHashSet<T> implements MySet<T> {
 
-    private MyMap<T, Boolean> map;
+    private MyHashMap<T, Boolean> map;
 
     public MyHashSet() {
         this.map = new MyHashMap<>();
@@ -51,6 +52,11 @@ public class MyHashSet<T> implements MySet<T> {
         this.map = new MyHashMap<>();
     }
 
+    @Override
+    public Spliterator<T> spliterator() {
+        return map.keySpliterator();
+    }
+
     @Override
     public Iterator<T> iterator() {
         // Wrap the map.entrySet() into a key-only iterator
@@ -0,0 +1,155 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-value estimator. With precision p it keeps 2^p
+ * one-byte registers (4 KB at the default p = 12) and estimates any number
+ * of distinct values with a standard error of about 1.04 / sqrt(2^p),
+ * roughly 1.6% at p = 12. Sketches of the same precision can be merged.
+ *
+ * The estimate uses Ertl's improved estimator over a histogram of register
+ * values, which is unbiased from small counts (where it is close to exact)
+ * through to large ones without the classic linear-counting switch-over.
+ *
+ * Values cannot be removed.
+ */
+public class MyHyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final byte[] registers;
+    private final int[] histogram; // number of registers holding each value
+
+    public MyHyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public MyHyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION
+                    + " and " + MAX_PRECISION + ".");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+        this.histogram = new int[64 - precision + 2];
+        this.histogram[0] = registers.length;
+    }
+
+    public void add(String value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Adds a value by its 64-bit hash. The hash must be well mixed.
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+        update(index, rank);
+    }
+
+    private void update(int index, int rank) {
+        int old = registers[index];
+        if (rank <= old) {
+            return;
+        }
+        histogram[old]--;
+        histogram[rank]++;
+        registers[index] = (byte) rank;
+    }
+
+    /**
+     * Folds another sketch into this one, as if its values had been added here.
+     */
+    public void merge(MyHyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision.");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            update(i, other.registers[i]);
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values added.
+     */
+    public long estimate() {
+        int m = registers.length;
+        int q = 64 - precision;
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m * m / (2 * Math.log(2)) / z);
+    }
+
+    // Corrects for registers still at zero; infinite when all are
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    // Corrects for registers at the maximum value
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    /**
+     * Resets the sketch to empty.
+     */
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+        Arrays.fill(histogram, 0);
+        histogram[0] = registers.length;
+    }
+
+    public boolean isEmpty() {
+        return histogram[0] == registers.length;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    // 64-bit FNV-1a over the characters, then a murmur3 finalizer to spread the bits
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
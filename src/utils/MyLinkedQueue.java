@@ -1,6 +1,8 @@
 package utils;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Queue implementation using a singly linked list.
@@ -86,4 +88,65 @@ public class MyLinkedQueue<T> implements MyQueue<T> {
             }
         };
     }
+
+    /**
+     * Splits by walking half of the remaining nodes; no elements are copied.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator<>(front, size);
+    }
+
+    private static final class NodeSpliterator<T> implements Spliterator<T> {
+        private Node<T> current;
+        private int remaining;
+
+        NodeSpliterator(Node<T> current, int remaining) {
+            this.current = current;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining == 0) {
+                return false;
+            }
+            action.accept(current.data);
+            current = current.next;
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; remaining > 0; remaining--) {
+                action.accept(current.data);
+                current = current.next;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int half = remaining >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            Node<T> start = current;
+            for (int i = 0; i < half; i++) {
+                current = current.next;
+            }
+            remaining -= half;
+            return new NodeSpliterator<>(start, half);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED;
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package utils;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Generic interface for List-like structures.
  */
@@ -11,6 +16,21 @@ public interface MyList<T> extends Iterable<T> {
     boolean isEmpty();
     void clear();
     void set(int index, T item);
-    
 
+    /**
+     * Sized spliterator over the iterator; implementations that can split
+     * cheaply override this.
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -1,5 +1,8 @@
 package utils;
 
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Interface for a simple map (key-value store).
  */
@@ -22,10 +25,16 @@ public interface MyMap<K, V> {
         K getKey();
         V getValue();
     }
-    default void putIfAbsent(K key, V value) {
-        if (!containsKey(key)) {
+    /**
+     * Inserts the value if the key is absent.
+     * @return the existing value, or null if the value was inserted
+     */
+    default V putIfAbsent(K key, V value) {
+        V existing = get(key);
+        if (existing == null) {
             put(key, value);
         }
+        return existing;
     }
 
     default V getOrDefault(K key, V defaultValue) {
@@ -35,4 +44,16 @@ public interface MyMap<K, V> {
 
     Iterable<K> keySet();
 
+    /**
+     * Streams the entries. The default streams the entrySet() snapshot;
+     * implementations may stream their tables directly.
+     */
+    default Stream<Entry<K, V>> entryStream() {
+        return StreamSupport.stream(entrySet().spliterator(), false);
+    }
+
+    default Stream<Entry<K, V>> parallelEntryStream() {
+        return entryStream().parallel();
+    }
+
 }
@@ -0,0 +1,158 @@
+package utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free multi-producer, single-consumer queue.
+ * Any number of threads may enqueue; dequeue and peek must only be called
+ * from one consumer thread at a time. Producers never retry: each enqueue
+ * is a single atomic swap of the tail.
+ */
+public class MyMpscQueue<T> implements MyQueue<T> {
+
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(MyMpscQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Internal node structure; head always points to a dummy node
+    private static class Node<T> {
+        T item;
+        volatile Node<T> next;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+
+    private Node<T> head;               // consumer only
+    private volatile Node<T> tail;      // swapped by producers
+    private final LongAdder enqueued = new LongAdder();
+    private volatile long dequeued;     // written by the consumer only
+
+    public MyMpscQueue() {
+        Node<T> dummy = new Node<>(null);
+        head = tail = dummy;
+    }
+
+    @Override
+    public void enqueue(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null items are not supported.");
+        }
+        Node<T> node = new Node<>(item);
+        @SuppressWarnings("unchecked")
+        Node<T> previous = (Node<T>) TAIL.getAndSet(this, node);
+        NEXT.setRelease(previous, node); // links the node and publishes its item
+        enqueued.increment();
+    }
+
+    @Override
+    public T dequeue() {
+        T item = poll();
+        if (item == null) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return item;
+    }
+
+    /**
+     * Removes and returns the front item, or null if the queue is empty.
+     * Consumer thread only.
+     */
+    public T poll() {
+        Node<T> next = nextOfHead();
+        if (next == null) {
+            return null;
+        }
+        T item = next.item;
+        next.item = null; // next becomes the new dummy
+        head = next;
+        dequeued = dequeued + 1;
+        return item;
+    }
+
+    @Override
+    public T peek() {
+        Node<T> next = nextOfHead();
+        if (next == null) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return next.item;
+    }
+
+    /**
+     * Returns the first live node, waiting out a producer that has swapped
+     * the tail but not yet linked its node. Null if the queue is empty.
+     */
+    private Node<T> nextOfHead() {
+        Node<T> first = head;
+        Node<T> next = first.next;
+        if (next == null && first != tail) {
+            while ((next = first.next) == null) {
+                Thread.onSpinWait();
+            }
+        }
+        return next;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    @Override
+    public int size() {
+        long count = enqueued.sum() - dequeued;
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, count));
+    }
+
+    /**
+     * Iterates from the consumer's position. Consumer thread only.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> current = head.next;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = current.item;
+                current = current.next;
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Unsized, since size() is only an estimate while producers are active.
+     * Consumer thread only, like {@link #iterator()}.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+}
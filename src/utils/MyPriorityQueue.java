@@ -0,0 +1,205 @@
+package utils;
+
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Priority queue implemented as a binary min-heap with decrease-key support.
+ * Items with equal priority are dequeued in insertion (FIFO) order.
+ * Each item may be queued at most once.
+ */
+public class MyPriorityQueue<T> implements MyQueue<T> {
+    private Object[] items;
+    private double[] keys;
+    private long[] order;            // insertion sequence for stable tie-break
+    private int size;
+    private long nextOrder;
+    private final MyMap<T, Integer> positions; // item → heap index
+    private final ToDoubleFunction<T> priority;
+
+    /**
+     * @param priority computes the key of an item on enqueue (smaller is served first)
+     */
+    public MyPriorityQueue(ToDoubleFunction<T> priority) {
+        this.items = new Object[10];
+        this.keys = new double[10];
+        this.order = new long[10];
+        this.size = 0;
+        this.positions = new MyHashMap<>();
+        this.priority = priority;
+    }
+
+    @Override
+    public void enqueue(T item) {
+        enqueue(item, priority.applyAsDouble(item));
+    }
+
+    /**
+     * Adds an item with an explicit priority key. O(log n).
+     */
+    public void enqueue(T item, double key) {
+        if (positions.containsKey(item)) {
+            throw new IllegalArgumentException("Item already queued: " + item);
+        }
+        if (size == items.length) {
+            resize();
+        }
+        items[size] = item;
+        keys[size] = key;
+        order[size] = nextOrder++;
+        positions.put(item, size);
+        siftUp(size++);
+    }
+
+    @Override
+    public T dequeue() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        T top = itemAt(0);
+        positions.remove(top);
+        size--;
+        if (size > 0) {
+            move(size, 0);
+            siftDown(0);
+        }
+        items[size] = null;
+        return top;
+    }
+
+    @Override
+    public T peek() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return itemAt(0);
+    }
+
+    /**
+     * Lowers the key of a queued item. O(log n).
+     * @return false if the item is not queued or the new key is not lower
+     */
+    public boolean decreaseKey(T item, double newKey) {
+        Integer index = positions.get(item);
+        if (index == null || newKey >= keys[index]) {
+            return false;
+        }
+        keys[index] = newKey;
+        siftUp(index);
+        return true;
+    }
+
+    /**
+     * Returns the current key of a queued item, or NaN if it is not queued.
+     */
+    public double keyOf(T item) {
+        Integer index = positions.get(item);
+        return index == null ? Double.NaN : keys[index];
+    }
+
+    public boolean contains(T item) {
+        return positions.containsKey(item);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Iterates in heap order (not priority order).
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                return itemAt(index++);
+            }
+        };
+    }
+
+    private boolean less(int a, int b) {
+        if (keys[a] != keys[b]) {
+            return keys[a] < keys[b];
+        }
+        return order[a] < order[b];
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!less(index, parent)) break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) break;
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && less(right, left)) {
+                smallest = right;
+            }
+            if (!less(smallest, index)) break;
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        double key = keys[a];
+        long seq = order[a];
+        items[a] = items[b];
+        keys[a] = keys[b];
+        order[a] = order[b];
+        items[b] = item;
+        keys[b] = key;
+        order[b] = seq;
+        positions.put(itemAt(a), a);
+        positions.put(itemAt(b), b);
+    }
+
+    private void move(int from, int to) {
+        items[to] = items[from];
+        keys[to] = keys[from];
+        order[to] = order[from];
+        positions.put(itemAt(to), to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T itemAt(int index) {
+        return (T) items[index];
+    }
+
+    private void resize() {
+        int capacity = items.length * 2;
+        Object[] newItems = new Object[capacity];
+        double[] newKeys = new double[capacity];
+        long[] newOrder = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            newItems[i] = items[i];
+            newKeys[i] = keys[i];
+            newOrder[i] = order[i];
+        }
+        items = newItems;
+        keys = newKeys;
+        order = newOrder;
+    }
+}
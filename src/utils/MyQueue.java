@@ -1,5 +1,10 @@
 package utils;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Interface for Queue data structure (FIFO).
  */
@@ -9,4 +14,21 @@ public interface MyQueue<T> extends Iterable<T> {
     T peek();               // view front item
     boolean isEmpty();
     int size();
+
+    /**
+     * Sized spliterator over the iterator; implementations that can split
+     * cheaply override this.
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -1,5 +1,10 @@
 package utils;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Interface for a Set (unique values).
  */
@@ -10,4 +15,21 @@ public interface MySet<T> extends Iterable<T>{
     int size();                   // Total items
     boolean isEmpty();            // Is set empty
     void clear();                 // Remove all
+
+    /**
+     * Sized spliterator over the iterator; implementations that can split
+     * cheaply override this.
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
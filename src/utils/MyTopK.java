@@ -0,0 +1,128 @@
+package utils;
+
+import java.util.Comparator;
+
+/**
+ * Keeps the k greatest items offered, by a comparator, in a bounded
+ * min-heap: offering n items costs O(n log k) and O(k) memory.
+ * Items that compare equal keep their offer order, earlier first, and an
+ * earlier item is never displaced by an equal later one.
+ */
+public class MyTopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final Object[] items;
+    private final long[] sequence;
+    private int size;
+    private long offered;
+
+    public MyTopK(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative.");
+        }
+        this.k = k;
+        this.order = order;
+        this.items = new Object[k];
+        this.sequence = new long[k];
+    }
+
+    /**
+     * Offers an item.
+     * @return true if it is currently among the top k
+     */
+    public boolean offer(T item) {
+        long seq = offered++;
+        if (size < k) {
+            items[size] = item;
+            sequence[size] = seq;
+            siftUp(size++);
+            return true;
+        }
+        if (k == 0 || worse(item, seq, 0)) {
+            return false;
+        }
+        items[0] = item;
+        sequence[0] = seq;
+        siftDown(0);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the kept items, best first. Does not disturb the heap.
+     */
+    @SuppressWarnings("unchecked")
+    public MyList<T> toList() {
+        int n = size;
+        // Heap sort in place, moving the worst item to the end each round, then restore
+        Object[] saved = new Object[n];
+        long[] savedSeq = new long[n];
+        System.arraycopy(items, 0, saved, 0, n);
+        System.arraycopy(sequence, 0, savedSeq, 0, n);
+        for (int end = n - 1; end > 0; end--) {
+            swap(0, end);
+            size = end;
+            siftDown(0);
+        }
+        MyList<T> result = new MyArrayList<>();
+        for (int i = 0; i < n; i++) {
+            result.add((T) items[i]);
+        }
+        System.arraycopy(saved, 0, items, 0, n);
+        System.arraycopy(savedSeq, 0, sequence, 0, n);
+        size = n;
+        return result;
+    }
+
+    // True if (item, seq) ranks below the heap entry at index
+    @SuppressWarnings("unchecked")
+    private boolean worse(T item, long seq, int index) {
+        int cmp = order.compare(item, (T) items[index]);
+        return cmp < 0 || (cmp == 0 && seq > sequence[index]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean worse(int a, int b) {
+        return worse((T) items[a], sequence[a], b);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int worst = right < size && worse(right, left) ? right : left;
+            if (!worse(worst, index)) {
+                break;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        long seq = sequence[a];
+        sequence[a] = sequence[b];
+        sequence[b] = seq;
+    }
+}
@@ -0,0 +1,471 @@
+package utils;
+
+import java.util.Comparator;
+
+/**
+ * Ordered map backed by a left-leaning red-black tree.
+ * Lookups, inserts and removals are O(log n); iteration is in key order,
+ * as given by the natural ordering or the comparator supplied at construction.
+ * Null keys are rejected.
+ */
+public class MyTreeMap<K, V> implements MyMap<K, V> {
+
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private static class Node<K, V> {
+        K key;
+        V value;
+        Node<K, V> left;
+        Node<K, V> right;
+        boolean color;
+        int size;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.color = RED;
+            this.size = 1;
+        }
+    }
+
+    // Public interface-compatible entry
+    private static class EntryView<K, V> implements MyMap.Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        EntryView(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public V getValue() {
+            return value;
+        }
+    }
+
+    private final Comparator<? super K> comparator;
+    private Node<K, V> root;
+
+    /**
+     * Creates a map ordered by the keys' natural ordering.
+     */
+    @SuppressWarnings("unchecked")
+    public MyTreeMap() {
+        this((a, b) -> ((Comparable<? super K>) a).compareTo(b));
+    }
+
+    public MyTreeMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    private int compare(K a, K b) {
+        return comparator.compare(a, b);
+    }
+
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported.");
+        }
+    }
+
+    // ---------------------------------------------------------------- lookups
+
+    private Node<K, V> find(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = compare(key, node.key);
+            if (cmp < 0) node = node.left;
+            else if (cmp > 0) node = node.right;
+            else return node;
+        }
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        checkKey(key);
+        Node<K, V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        checkKey(key);
+        return find(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public K firstKey() {
+        if (root == null) return null;
+        return min(root).key;
+    }
+
+    public K lastKey() {
+        Node<K, V> node = root;
+        if (node == null) return null;
+        while (node.right != null) node = node.right;
+        return node.key;
+    }
+
+    /**
+     * Returns the greatest key less than or equal to the given key, or null.
+     */
+    public K floorKey(K key) {
+        checkKey(key);
+        K result = null;
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = compare(key, node.key);
+            if (cmp == 0) return node.key;
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                result = node.key;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the least key greater than or equal to the given key, or null.
+     */
+    public K ceilingKey(K key) {
+        checkKey(key);
+        K result = null;
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = compare(key, node.key);
+            if (cmp == 0) return node.key;
+            if (cmp > 0) {
+                node = node.right;
+            } else {
+                result = node.key;
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    // ---------------------------------------------------------------- inserts
+
+    @Override
+    public void put(K key, V value) {
+        checkKey(key);
+        root = put(root, key, value);
+        root.color = BLACK;
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value);
+        }
+        int cmp = compare(key, node.key);
+        if (cmp < 0) node.left = put(node.left, key, value);
+        else if (cmp > 0) node.right = put(node.right, key, value);
+        else node.value = value;
+        return balance(node);
+    }
+
+    // --------------------------------------------------------------- removals
+
+    @Override
+    public V remove(K key) {
+        checkKey(key);
+        Node<K, V> node = find(key);
+        if (node == null) {
+            return null;
+        }
+        V value = node.value;
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = remove(root, key);
+        if (root != null) {
+            root.color = BLACK;
+        }
+        return value;
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        if (compare(key, node.key) < 0) {
+            if (!isRed(node.left) && !isRed(node.left.left)) {
+                node = moveRedLeft(node);
+            }
+            node.left = remove(node.left, key);
+        } else {
+            if (isRed(node.left)) {
+                node = rotateRight(node);
+            }
+            if (compare(key, node.key) == 0 && node.right == null) {
+                return null;
+            }
+            if (!isRed(node.right) && !isRed(node.right.left)) {
+                node = moveRedRight(node);
+            }
+            if (compare(key, node.key) == 0) {
+                Node<K, V> successor = min(node.right);
+                node.key = successor.key;
+                node.value = successor.value;
+                node.right = removeMin(node.right);
+            } else {
+                node.right = remove(node.right, key);
+            }
+        }
+        return balance(node);
+    }
+
+    private Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null) {
+            return null;
+        }
+        if (!isRed(node.left) && !isRed(node.left.left)) {
+            node = moveRedLeft(node);
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static <K, V> Node<K, V> min(Node<K, V> node) {
+        while (node.left != null) node = node.left;
+        return node;
+    }
+
+    // ------------------------------------------------------- tree maintenance
+
+    private static boolean isRed(Node<?, ?> node) {
+        return node != null && node.color == RED;
+    }
+
+    private Node<K, V> rotateLeft(Node<K, V> node) {
+        Node<K, V> x = node.right;
+        node.right = x.left;
+        x.left = node;
+        x.color = node.color;
+        node.color = RED;
+        x.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+        return x;
+    }
+
+    private Node<K, V> rotateRight(Node<K, V> node) {
+        Node<K, V> x = node.left;
+        node.left = x.right;
+        x.right = node;
+        x.color = node.color;
+        node.color = RED;
+        x.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+        return x;
+    }
+
+    private void flipColors(Node<K, V> node) {
+        node.color = !node.color;
+        node.left.color = !node.left.color;
+        node.right.color = !node.right.color;
+    }
+
+    private Node<K, V> moveRedLeft(Node<K, V> node) {
+        flipColors(node);
+        if (isRed(node.right.left)) {
+            node.right = rotateRight(node.right);
+            node = rotateLeft(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<K, V> moveRedRight(Node<K, V> node) {
+        flipColors(node);
+        if (isRed(node.left.left)) {
+            node = rotateRight(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<K, V> balance(Node<K, V> node) {
+        if (isRed(node.right) && !isRed(node.left)) node = rotateLeft(node);
+        if (isRed(node.left) && isRed(node.left.left)) node = rotateRight(node);
+        if (isRed(node.left) && isRed(node.right)) flipColors(node);
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    // -------------------------------------------------------------- traversal
+
+    // Visits nodes with low <= key < high in order; null bounds are open
+    private void collect(Node<K, V> node, K low, K high, MyList<Node<K, V>> out) {
+        if (node == null) {
+            return;
+        }
+        boolean aboveLow = low == null || compare(node.key, low) >= 0;
+        boolean belowHigh = high == null || compare(node.key, high) < 0;
+        if (aboveLow) collect(node.left, low, high, out);
+        if (aboveLow && belowHigh) out.add(node);
+        if (belowHigh) collect(node.right, low, high, out);
+    }
+
+    private MyList<Node<K, V>> nodes(K low, K high) {
+        MyList<Node<K, V>> out = new MyArrayList<>();
+        collect(root, low, high, out);
+        return out;
+    }
+
+    /**
+     * Entries in key order.
+     */
+    @Override
+    public Iterable<MyMap.Entry<K, V>> entrySet() {
+        return entries(null, null);
+    }
+
+    @Override
+    public Iterable<K> keySet() {
+        return keys(null, null);
+    }
+
+    @Override
+    public MyList<V> values() {
+        return values(null, null);
+    }
+
+    private MyList<MyMap.Entry<K, V>> entries(K low, K high) {
+        MyList<MyMap.Entry<K, V>> entries = new MyArrayList<>();
+        for (Node<K, V> node : nodes(low, high)) {
+            entries.add(new EntryView<>(node.key, node.value));
+        }
+        return entries;
+    }
+
+    private MyList<K> keys(K low, K high) {
+        MyList<K> keys = new MyArrayList<>();
+        for (Node<K, V> node : nodes(low, high)) {
+            keys.add(node.key);
+        }
+        return keys;
+    }
+
+    private MyList<V> values(K low, K high) {
+        MyList<V> values = new MyArrayList<>();
+        for (Node<K, V> node : nodes(low, high)) {
+            values.add(node.value);
+        }
+        return values;
+    }
+
+    // Number of keys strictly less than the given key
+    private int rank(K key) {
+        int rank = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = compare(key, node.key);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                rank += 1 + size(node.left);
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns a live view of the keys in [fromKey, toKey). Writes through the
+     * view go to this map; putting a key outside the range is rejected.
+     */
+    public MyMap<K, V> subMap(K fromKey, K toKey) {
+        checkKey(fromKey);
+        checkKey(toKey);
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey is greater than toKey.");
+        }
+        return new SubMap(fromKey, toKey);
+    }
+
+    private class SubMap implements MyMap<K, V> {
+        private final K low;
+        private final K high;
+
+        SubMap(K low, K high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        private boolean inRange(K key) {
+            return compare(key, low) >= 0 && compare(key, high) < 0;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            checkKey(key);
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("Key out of range: " + key);
+            }
+            MyTreeMap.this.put(key, value);
+        }
+
+        @Override
+        public V get(K key) {
+            checkKey(key);
+            return inRange(key) ? MyTreeMap.this.get(key) : null;
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            checkKey(key);
+            return inRange(key) && MyTreeMap.this.containsKey(key);
+        }
+
+        @Override
+        public V remove(K key) {
+            checkKey(key);
+            return inRange(key) ? MyTreeMap.this.remove(key) : null;
+        }
+
+        @Override
+        public int size() {
+            return rank(high) - rank(low);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public Iterable<MyMap.Entry<K, V>> entrySet() {
+            return entries(low, high);
+        }
+
+        @Override
+        public Iterable<K> keySet() {
+            return keys(low, high);
+        }
+
+        @Override
+        public MyList<V> values() {
+            return MyTreeMap.this.values(low, high);
+        }
+    }
+}
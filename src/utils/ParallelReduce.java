@@ -0,0 +1,89 @@
+package utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Fork-join reduction over index ranges of a {@link MyList}.
+ * The list is split in halves until a range is no larger than the
+ * threshold; each leaf folds its range into a fresh partial result, and
+ * partials are combined left to right, so list order is preserved.
+ * Lists below the threshold are reduced on the calling thread.
+ *
+ * The list must not be structurally modified during the reduction.
+ */
+public class ParallelReduce {
+
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private ParallelReduce() {
+    }
+
+    public static <T, R> R reduce(MyList<T> list, Supplier<R> identity,
+                                  BiConsumer<R, T> accumulator, BinaryOperator<R> combiner) {
+        return reduce(list, DEFAULT_THRESHOLD, ForkJoinPool.commonPool(), identity, accumulator, combiner);
+    }
+
+    /**
+     * @param threshold largest range folded sequentially
+     * @param combiner  merges the right partial into the left and returns the result
+     */
+    public static <T, R> R reduce(MyList<T> list, int threshold, ForkJoinPool pool, Supplier<R> identity,
+                                  BiConsumer<R, T> accumulator, BinaryOperator<R> combiner) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive.");
+        }
+        int size = list.size();
+        if (size <= threshold) {
+            return fold(list, 0, size, identity, accumulator);
+        }
+        return pool.invoke(new RangeTask<>(list, 0, size, threshold, identity, accumulator, combiner));
+    }
+
+    private static <T, R> R fold(MyList<T> list, int from, int to, Supplier<R> identity, BiConsumer<R, T> accumulator) {
+        R partial = identity.get();
+        for (int i = from; i < to; i++) {
+            accumulator.accept(partial, list.get(i));
+        }
+        return partial;
+    }
+
+    private static final class RangeTask<T, R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final MyList<T> list;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final Supplier<R> identity;
+        private final BiConsumer<R, T> accumulator;
+        private final BinaryOperator<R> combiner;
+
+        RangeTask(MyList<T> list, int from, int to, int threshold, Supplier<R> identity,
+                  BiConsumer<R, T> accumulator, BinaryOperator<R> combiner) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= threshold) {
+                return fold(list, from, to, identity, accumulator);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask<T, R> left = new RangeTask<>(list, from, mid, threshold, identity, accumulator, combiner);
+            RangeTask<T, R> right = new RangeTask<>(list, mid, to, threshold, identity, accumulator, combiner);
+            left.fork();
+            R rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}